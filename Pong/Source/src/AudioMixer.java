@@ -0,0 +1,442 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * @brief Mixes the game's sound effects on a dedicated thread.
+ *
+ * Every clip is synthesized once into 16-bit PCM when the mixer is built. The game thread only
+ * offers sound numbers to a `SoundQueue`; the mixer thread starts a voice for each, adds the
+ * playing voices into one small block and writes it to an `AudioSink`, which paces the loop. With
+ * 256-frame blocks a trigger is heard about 6 ms after the block it lands in, plus what the sink
+ * has buffered, and the mixer records that latency for every trigger.
+ */
+public class AudioMixer implements AutoCloseable {
+
+    public static final int SOUND_PADDLE = 0;   /**< @brief The ball hit a paddle. */
+    public static final int SOUND_WALL = 1;     /**< @brief The ball hit a side wall. */
+    public static final int SOUND_SCORE = 2;    /**< @brief A point was scored. */
+
+    public static final float SAMPLE_RATE = 44100f; /**< @brief Frames per second. */
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false); /**< @brief Mono 16-bit little-endian PCM. */
+    public static final int BLOCK_FRAMES = 256; /**< @brief Frames mixed per block. */
+    private static final int VOICES = 8;        /**< @brief Clips that can sound at once. */
+
+    /**
+     * @brief Destination of the mixed blocks, called on the mixer thread only.
+     */
+    public interface AudioSink {
+        /**
+         * @brief Plays a block, blocking until the sink can take more.
+         *
+         * @param data 16-bit little-endian mono PCM.
+         * @param length Number of bytes to play.
+         * @throws IOException If the block cannot be written.
+         */
+        void write(byte[] data, int length) throws IOException;
+
+        /**
+         * @brief Gets how long written audio waits in the sink before it is heard.
+         *
+         * @return The buffered time in nanoseconds.
+         */
+        long bufferedNanos();
+
+        /**
+         * @brief Releases the sink.
+         *
+         * @throws IOException If the sink cannot be closed cleanly.
+         */
+        void close() throws IOException;
+    }
+
+    private final AudioSink sink;               /**< @brief Destination of the mixed blocks. */
+    private final short[][] clips;              /**< @brief PCM of each sound. */
+    private final SoundQueue queue = new SoundQueue(64); /**< @brief Triggers from the game thread. */
+    private final int[] voiceClip = new int[VOICES];     /**< @brief Clip of each voice, or -1 if silent. */
+    private final int[] voicePosition = new int[VOICES]; /**< @brief Next frame of each voice. */
+    private final int[] accumulator = new int[BLOCK_FRAMES]; /**< @brief Sum of the voices of a block. */
+    private final byte[] block = new byte[BLOCK_FRAMES * 2]; /**< @brief Mixed block as bytes. */
+    private final Thread thread;                /**< @brief Mixer thread. */
+    private volatile boolean running = true;    /**< @brief Cleared to stop the mixer thread. */
+
+    private volatile long triggers = 0;         /**< @brief Triggers started by the mixer. */
+    private volatile long totalLatency = 0;     /**< @brief Sum of the latencies of all triggers. */
+    private volatile long maxLatency = 0;       /**< @brief Largest latency of a trigger. */
+    private volatile long blocks = 0;           /**< @brief Blocks written to the sink. */
+
+    /**
+     * @brief Builds a mixer over a sink and starts its thread.
+     *
+     * @param sink Destination of the mixed blocks.
+     * @param clips PCM of each sound, indexed by sound number.
+     */
+    public AudioMixer(AudioSink sink, short[][] clips) {
+        this.sink = sink;
+        this.clips = clips;
+        Arrays.fill(voiceClip, -1);
+
+        thread = new Thread(this::mix, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * @brief Builds a mixer with the built-in sounds on the default audio device.
+     *
+     * Falls back to a silent, real-time paced sink when no device is available.
+     *
+     * @return The running mixer.
+     */
+    public static AudioMixer openDefault() {
+        AudioSink sink;
+        try {
+            sink = new LineSink(4);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            sink = new NullSink(true);
+        }
+        return new AudioMixer(sink, synthesize());
+    }
+
+    /**
+     * @brief Measures trigger latency from the command line.
+     *
+     * Usage: `AudioMixer [triggers] [file.wav]`. Plays on the default device, or into the WAV
+     * file when one is given, and prints the mean and worst latency.
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the sink fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        try (AudioMixer mixer = args.length > 1 ? new AudioMixer(new FileSink(Paths.get(args[1])), synthesize()) : openDefault()) {
+            System.out.println("Sink: " + mixer.sink.getClass().getSimpleName());
+            for (int i = 0; i < count; i++) {
+                mixer.play(i % 3);
+                Thread.sleep(17);
+            }
+            Thread.sleep(100);
+            System.out.printf("%d triggers: mean %.2f ms, worst %.2f ms%n", mixer.getTriggers(),
+                    mixer.getAverageLatencyNanos() / 1e6, mixer.getMaxLatencyNanos() / 1e6);
+        }
+    }
+
+    /**
+     * @brief Synthesizes the built-in sounds.
+     *
+     * @return PCM of `SOUND_PADDLE`, `SOUND_WALL` and `SOUND_SCORE`.
+     */
+    public static short[][] synthesize() {
+        return new short[][] {
+            tone(880, 880, 0.04, 0.5),
+            tone(440, 440, 0.03, 0.35),
+            tone(660, 220, 0.25, 0.5)
+        };
+    }
+
+    /**
+     * @brief Synthesizes a square-wave sweep with a linear fade-out.
+     *
+     * @param fromHz Starting frequency.
+     * @param toHz Final frequency.
+     * @param seconds Duration.
+     * @param volume Peak amplitude, from 0 to 1.
+     * @return The PCM samples.
+     */
+    private static short[] tone(double fromHz, double toHz, double seconds, double volume) {
+        int frames = (int) (SAMPLE_RATE * seconds);
+        short[] pcm = new short[frames];
+        double phase = 0;
+        for (int i = 0; i < frames; i++) {
+            double t = (double) i / frames;
+            phase += (fromHz + (toHz - fromHz) * t) / SAMPLE_RATE;
+            double square = (phase % 1.0) < 0.5 ? 1 : -1;
+            pcm[i] = (short) (square * volume * (1 - t) * Short.MAX_VALUE);
+        }
+        return pcm;
+    }
+
+    /**
+     * @brief Asks for a sound to be played. Called by the game thread only; never blocks.
+     *
+     * @param sound One of the `SOUND_` constants.
+     * @return False if too many triggers were pending and this one was dropped.
+     */
+    public boolean play(int sound) {
+        return queue.offer(sound, System.nanoTime());
+    }
+
+    /**
+     * @brief Loop of the mixer thread.
+     */
+    private void mix() {
+        try {
+            while (running) {
+                int sound;
+                while ((sound = queue.poll()) >= 0) {
+                    startVoice(sound);
+                    long latency = System.nanoTime() - queue.polledTime() + sink.bufferedNanos();
+                    totalLatency += latency;
+                    maxLatency = Math.max(maxLatency, latency);
+                    triggers++;
+                }
+
+                mixBlock();
+                sink.write(block, block.length);
+                blocks++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @brief Starts a clip on a free voice, or on the one that has played longest.
+     *
+     * @param sound The clip to start.
+     */
+    private void startVoice(int sound) {
+        int chosen = 0;
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceClip[v] < 0) {
+                chosen = v;
+                break;
+            }
+            if (voicePosition[v] > voicePosition[chosen]) {
+                chosen = v;
+            }
+        }
+        voiceClip[chosen] = sound;
+        voicePosition[chosen] = 0;
+    }
+
+    /**
+     * @brief Adds every playing voice into the next block and converts it to bytes.
+     */
+    private void mixBlock() {
+        Arrays.fill(accumulator, 0);
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceClip[v] < 0) {
+                continue;
+            }
+            short[] clip = clips[voiceClip[v]];
+            int position = voicePosition[v];
+            int frames = Math.min(BLOCK_FRAMES, clip.length - position);
+            for (int i = 0; i < frames; i++) {
+                accumulator[i] += clip[position + i];
+            }
+            voicePosition[v] = position + frames;
+            if (voicePosition[v] >= clip.length) {
+                voiceClip[v] = -1;
+            }
+        }
+
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, accumulator[i]));
+            block[2 * i] = (byte) sample;
+            block[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * @brief Gets the number of triggers the mixer has started.
+     *
+     * @return The trigger count.
+     */
+    public long getTriggers() {
+        return triggers;
+    }
+
+    /**
+     * @brief Gets the mean time from `play` until the sound reaches the speaker.
+     *
+     * @return The mean latency in nanoseconds, or 0 before the first trigger.
+     */
+    public long getAverageLatencyNanos() {
+        long count = triggers;
+        return count == 0 ? 0 : totalLatency / count;
+    }
+
+    /**
+     * @brief Gets the longest time from `play` until a sound reached the speaker.
+     *
+     * @return The largest latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatency;
+    }
+
+    /**
+     * @brief Gets the number of blocks written to the sink.
+     *
+     * @return The block count.
+     */
+    public long getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @brief Stops the mixer thread and closes the sink.
+     *
+     * @throws IOException If the sink cannot be closed cleanly.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    /**
+     * @brief Plays blocks on a `SourceDataLine` with a buffer of a few blocks.
+     */
+    public static class LineSink implements AudioSink {
+
+        private final SourceDataLine line;      /**< @brief The audio device line. */
+
+        /**
+         * @brief Opens and starts the default line.
+         *
+         * @param bufferBlocks Size of the line buffer in blocks; smaller is lower latency.
+         * @throws LineUnavailableException If the line is in use.
+         */
+        public LineSink(int bufferBlocks) throws LineUnavailableException {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, bufferBlocks * BLOCK_FRAMES * 2);
+            line.start();
+        }
+
+        @Override
+        public void write(byte[] data, int length) {
+            line.write(data, 0, length);
+        }
+
+        @Override
+        public long bufferedNanos() {
+            int queuedBytes = line.getBufferSize() - line.available();
+            return (long) (queuedBytes / 2 / SAMPLE_RATE * 1e9);
+        }
+
+        @Override
+        public void close() {
+            line.drain();
+            line.close();
+        }
+    }
+
+    /**
+     * @brief Discards blocks, optionally at the pace a device would play them.
+     */
+    public static class NullSink implements AudioSink {
+
+        private static final long BLOCK_NANOS = (long) (BLOCK_FRAMES / SAMPLE_RATE * 1e9); /**< @brief Play time of one block. */
+
+        private final boolean paced;            /**< @brief True to wait as long as a device would. */
+        private long played = -1;               /**< @brief `System.nanoTime` at which the written audio ends. */
+
+        /**
+         * @brief Constructs the sink.
+         *
+         * @param paced True to block like a device buffering one block, false to return at once.
+         */
+        public NullSink(boolean paced) {
+            this.paced = paced;
+        }
+
+        @Override
+        public void write(byte[] data, int length) throws IOException {
+            if (!paced) {
+                return;
+            }
+            played = Math.max(played, System.nanoTime()) + BLOCK_NANOS;
+            long wait;
+            while ((wait = played - BLOCK_NANOS - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        @Override
+        public long bufferedNanos() {
+            return paced ? Math.max(0, played - System.nanoTime()) : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // nothing to release
+        }
+    }
+
+    /**
+     * @brief Writes blocks to a WAV file, paced like a device.
+     */
+    public static class FileSink extends NullSink {
+
+        private final FileChannel channel;      /**< @brief The WAV file. */
+        private final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_FRAMES * 2); /**< @brief Reused output buffer. */
+        private long dataBytes = 0;             /**< @brief PCM bytes written after the header. */
+
+        /**
+         * @brief Creates the WAV file.
+         *
+         * @param file File to write.
+         * @throws IOException If the file cannot be created.
+         */
+        public FileSink(Path file) throws IOException {
+            super(true);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(header(0));
+        }
+
+        @Override
+        public void write(byte[] data, int length) throws IOException {
+            buffer.clear();
+            buffer.put(data, 0, length).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            dataBytes += length;
+            super.write(data, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.write(header(dataBytes), 0);
+            channel.close();
+        }
+
+        /**
+         * @brief Builds the 44-byte header of a mono 16-bit PCM WAV file.
+         *
+         * @param dataBytes Size of the PCM data.
+         * @return The header, ready to be written.
+         */
+        private static ByteBuffer header(long dataBytes) {
+            int rate = (int) SAMPLE_RATE;
+            ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+            header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt((int) (36 + dataBytes));
+            header.put("WAVEfmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+            header.putShort((short) 1).putShort((short) 1).putInt(rate).putInt(rate * 2);
+            header.putShort((short) 2).putShort((short) 16);
+            header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt((int) dataBytes);
+            header.flip();
+            return header;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @brief Reloads a `GameConfig` file whenever it changes on disk.
+ *
+ * A background thread waits on a `WatchService` for the file's directory. Each change is parsed
+ * into a new snapshot, which waits in a single slot until the game takes it at a tick boundary;
+ * later changes replace snapshots not yet taken.
+ *
+ * Editors often save by truncating the file and then writing it, so a change is only parsed once
+ * two reads `SETTLE_MILLIS` apart return the same contents, and only if they differ from the last
+ * contents parsed. A file that is still empty after that, or that fails to parse, is reported and
+ * skipped, and the game keeps its current settings. A file that sets no speed profile key keeps
+ * `SpeedProfile.getDefault()`.
+ */
+public class ConfigWatcher implements AutoCloseable {
+
+    static final long SETTLE_MILLIS = 50;       /**< @brief Time between two reads of a changed file. */
+    static final int MAX_READS = 20;            /**< @brief Reads of a changed file before giving up on it settling. */
+
+    private final Path file;                    /**< @brief The watched settings file. */
+    private final WatchService service;         /**< @brief Change notifications of the file's directory. */
+    private final AtomicReference<GameConfig> pending = new AtomicReference<>(); /**< @brief Latest snapshot not yet taken. */
+    private final Thread thread;                /**< @brief Thread waiting for changes. */
+    private byte[] lastText;                    /**< @brief Contents of the last snapshot parsed, used by the watcher thread only. */
+    private volatile long reloads = 0;          /**< @brief Snapshots parsed successfully. */
+    private volatile long failures = 0;         /**< @brief Changes that could not be parsed. */
+
+    /**
+     * @brief Starts watching a settings file.
+     *
+     * @param file The settings file; its directory must exist.
+     * @throws IOException If the directory cannot be watched.
+     */
+    public ConfigWatcher(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        service = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @brief Loop of the watcher thread.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /**
+     * @brief Parses the file into the pending slot, once its contents have settled.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting for the file to settle.
+     */
+    void reload() throws InterruptedException {
+        try {
+            byte[] text = readSettled();
+            if (text == null) {
+                failures++;
+                System.err.println("Ignoring settings " + file + ": still changing");
+                return;
+            }
+            if (Arrays.equals(text, lastText)) {
+                return; // another event of a change already parsed
+            }
+            pending.set(GameConfig.parse(text, SpeedProfile.getDefault()));
+            lastText = text;
+            reloads++;
+        } catch (IOException | IllegalArgumentException e) {
+            failures++;
+            System.err.println("Ignoring settings " + file + ": " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Anything else would end the watcher thread without a word
+            failures++;
+            System.err.println("Ignoring settings " + file + ": " + e);
+        }
+    }
+
+    /**
+     * @brief Reads the file until two reads in a row agree.
+     *
+     * @return The contents, or null if the file kept changing.
+     * @throws IOException If the file cannot be read.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private byte[] readSettled() throws IOException, InterruptedException {
+        byte[] text = Files.readAllBytes(file);
+        for (int i = 1; i < MAX_READS; i++) {
+            Thread.sleep(SETTLE_MILLIS);
+            byte[] again = Files.readAllBytes(file);
+            if (Arrays.equals(text, again)) {
+                return text;
+            }
+            text = again;
+        }
+        return null;
+    }
+
+    /**
+     * @brief Takes the latest snapshot, if a new one was parsed since the last call.
+     *
+     * Costs one volatile read when nothing changed, so it can be called every tick.
+     *
+     * @return The new snapshot, or null.
+     */
+    public GameConfig take() {
+        return pending.get() == null ? null : pending.getAndSet(null);
+    }
+
+    /**
+     * @brief Gets the number of snapshots parsed successfully.
+     *
+     * @return The reload count.
+     */
+    public long getReloads() {
+        return reloads;
+    }
+
+    /**
+     * @brief Gets the number of changes that could not be parsed.
+     *
+     * @return The failure count.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @brief Stops watching.
+     *
+     * @throws IOException If the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+}
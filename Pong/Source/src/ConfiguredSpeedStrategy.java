@@ -0,0 +1,27 @@
+/**
+ * @brief Represents a speed level read from a speed profile.
+ * 
+ * This strategy returns the speed value given by the profile.
+ */
+class ConfiguredSpeedStrategy implements SpeedStrategy {
+    private final double speed; /**< Speed value of the level. */
+
+    /**
+     * @brief Constructs a strategy with a fixed speed.
+     * 
+     * @param speed The speed value of the level.
+     */
+    ConfiguredSpeedStrategy(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * @brief Retrieves the configured speed value.
+     * 
+     * @return The speed value of the level.
+     */
+    @Override
+    public double getSpeed() {
+        return speed;
+    }
+}
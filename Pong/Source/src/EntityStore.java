@@ -0,0 +1,203 @@
+import java.util.Arrays;
+
+/**
+ * @brief Entities of a field stored as columns of primitive arrays.
+ *
+ * Every entity is an index into the component arrays: position, size, velocity, controller and
+ * color. Paddles, balls and obstacles differ only by their `kind` and `controller` values, so the
+ * systems of `EntityWorld` process all of them in one pass over contiguous arrays, without a class
+ * per entity and without virtual calls. Removing an entity moves the last one into its slot, which
+ * keeps the arrays dense but changes that entity's index.
+ */
+public class EntityStore {
+
+    public static final byte KIND_PADDLE = 0;       /**< @brief Solid entity the ball bounces off and scores against. */
+    public static final byte KIND_BALL = 1;         /**< @brief Moving entity that bounces and scores. */
+    public static final byte KIND_OBSTACLE = 2;     /**< @brief Solid entity the ball bounces off. */
+
+    public static final byte CONTROL_NONE = 0;      /**< @brief Not moved by any system. */
+    public static final byte CONTROL_INPUT = 1;     /**< @brief Moved left or right by the player's input. */
+    public static final byte CONTROL_TRACK = 2;     /**< @brief Follows the nearest ball, scaled by its `param`. */
+    public static final byte CONTROL_PHYSICS = 3;   /**< @brief Moved by its velocity every tick. */
+
+    int count = 0;                                  /**< @brief Number of live entities, stored at indices 0..count-1. */
+    double[] x;                                     /**< @brief X-coordinate of each entity. */
+    double[] y;                                     /**< @brief Y-coordinate of each entity. */
+    double[] vx;                                    /**< @brief Per-tick displacement in x. */
+    double[] vy;                                    /**< @brief Per-tick displacement in y. */
+    double[] dirX;                                  /**< @brief Unit direction in x of a ball. */
+    double[] dirY;                                  /**< @brief Unit direction in y of a ball. */
+    double[] param;                                 /**< @brief Controller parameter, such as the tracking factor. */
+    int[] width;                                    /**< @brief Width of each entity. */
+    int[] height;                                   /**< @brief Height of each entity. */
+    int[] color;                                    /**< @brief RGB color of each entity. */
+    int[] hits;                                     /**< @brief Paddle hits of a ball since the last point. */
+    byte[] kind;                                    /**< @brief One of the `KIND_` constants. */
+    byte[] controller;                              /**< @brief One of the `CONTROL_` constants. */
+
+    /**
+     * @brief Constructs an empty store.
+     *
+     * @param capacity Number of entities that fit before the arrays grow.
+     */
+    public EntityStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * @brief Adds an entity at rest.
+     *
+     * @param kind One of the `KIND_` constants.
+     * @param controller One of the `CONTROL_` constants.
+     * @param x X-coordinate.
+     * @param y Y-coordinate.
+     * @param width Width.
+     * @param height Height.
+     * @param color RGB color.
+     * @return Index of the new entity.
+     */
+    public int create(byte kind, byte controller, double x, double y, int width, int height, int color) {
+        if (count == this.x.length) {
+            allocate(count * 2);
+        }
+
+        int i = count++;
+        this.kind[i] = kind;
+        this.controller[i] = controller;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.color[i] = color;
+        vx[i] = 0;
+        vy[i] = 0;
+        dirX[i] = 0;
+        dirY[i] = 0;
+        param[i] = 0;
+        hits[i] = 0;
+        return i;
+    }
+
+    /**
+     * @brief Removes an entity by moving the last entity into its slot.
+     *
+     * @param i Index of the entity to remove.
+     */
+    public void remove(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("No entity at index " + i);
+        }
+
+        int last = --count;
+        kind[i] = kind[last];
+        controller[i] = controller[last];
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        dirX[i] = dirX[last];
+        dirY[i] = dirY[last];
+        param[i] = param[last];
+        width[i] = width[last];
+        height[i] = height[last];
+        color[i] = color[last];
+        hits[i] = hits[last];
+    }
+
+    /**
+     * @brief Gets the number of live entities.
+     *
+     * @return The entity count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @brief Gets the kind of an entity.
+     *
+     * @param i Index of the entity.
+     * @return One of the `KIND_` constants.
+     */
+    public byte kind(int i) {
+        return kind[i];
+    }
+
+    /**
+     * @brief Gets the x-coordinate of an entity.
+     *
+     * @param i Index of the entity.
+     * @return The x-coordinate.
+     */
+    public double x(int i) {
+        return x[i];
+    }
+
+    /**
+     * @brief Gets the y-coordinate of an entity.
+     *
+     * @param i Index of the entity.
+     * @return The y-coordinate.
+     */
+    public double y(int i) {
+        return y[i];
+    }
+
+    /**
+     * @brief Gets the width of an entity.
+     *
+     * @param i Index of the entity.
+     * @return The width.
+     */
+    public int width(int i) {
+        return width[i];
+    }
+
+    /**
+     * @brief Sets the width of an entity, for example to widen a paddle.
+     *
+     * @param i Index of the entity.
+     * @param width The new width.
+     */
+    public void setWidth(int i, int width) {
+        this.width[i] = width;
+    }
+
+    /**
+     * @brief Grows every component array to the given capacity, keeping the live entities.
+     *
+     * @param capacity The new capacity.
+     */
+    private void allocate(int capacity) {
+        if (x == null) {
+            x = new double[capacity];
+            y = new double[capacity];
+            vx = new double[capacity];
+            vy = new double[capacity];
+            dirX = new double[capacity];
+            dirY = new double[capacity];
+            param = new double[capacity];
+            width = new int[capacity];
+            height = new int[capacity];
+            color = new int[capacity];
+            hits = new int[capacity];
+            kind = new byte[capacity];
+            controller = new byte[capacity];
+            return;
+        }
+
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        dirX = Arrays.copyOf(dirX, capacity);
+        dirY = Arrays.copyOf(dirY, capacity);
+        param = Arrays.copyOf(param, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        color = Arrays.copyOf(color, capacity);
+        hits = Arrays.copyOf(hits, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        controller = Arrays.copyOf(controller, capacity);
+    }
+}
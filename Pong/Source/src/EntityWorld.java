@@ -0,0 +1,725 @@
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @brief A field of entities from an `EntityStore`, advanced by bulk systems.
+ *
+ * Each system is one loop over the component arrays that handles every entity it applies to:
+ * input moves `CONTROL_INPUT` paddles, movement advances and bounces balls off the side walls,
+ * collision bounces balls off paddles and obstacles, scoring awards points for balls that leave the
+ * field, and tracking moves `CONTROL_TRACK` paddles after the nearest ball. Collision and tracking
+ * look entities up instead of testing every pair: obstacles never move, so they sit in a
+ * `SpatialGrid` that is only rebuilt when entities are added or removed, and a ball is tested
+ * against the paddles and the obstacles of the cells it covers; balls are put in rows every tick,
+ * and a paddle only looks at the rows around it. Obstacles must not be moved once added.
+ *
+ * Paddles in the bottom half of the field play for the player and paddles in the top half for the
+ * enemy. A ball leaving through the bottom scores for the enemy, through the top for the player;
+ * it is then put back in play, unless other balls are still on the field, in which case it is
+ * removed. Only balls are ever removed, so paddles and obstacles added before the first ball keep
+ * their indices for the whole match.
+ *
+ * This is the only implementation of the rules: `Match`, the window game and every tool built on
+ * them play on a world. `classic` builds the original field, with the player paddle, the enemy
+ * paddle and the ball at `PLAYER`, `ENEMY` and `BALL`.
+ */
+public class EntityWorld {
+
+    public static final int BALL_SIZE = 5;          /**< @brief Width and height of a ball. */
+    public static final int PADDLE_WIDTH = 40;      /**< @brief Width of a classic paddle. */
+    public static final int PADDLE_HEIGHT = 5;      /**< @brief Height of a classic paddle. */
+    public static final double DIFFICULTY = 0.7;    /**< @brief Tracking factor of the classic enemy paddle. */
+
+    public static final int PLAYER = 0;             /**< @brief Index of the player paddle of a classic field. */
+    public static final int ENEMY = 1;              /**< @brief Index of the enemy paddle of a classic field. */
+    public static final int BALL = 2;               /**< @brief Index of the first ball of a classic field. */
+
+    public static final int COLOR_WHITE = 0;        /**< @brief Palette index of paddles and obstacles. */
+    public static final int COLOR_LEVEL = 1;        /**< @brief Palette index of the balls, whose color follows the speed level. */
+
+    private static final int CELL_SIZE = 32;        /**< @brief Cell size of the grid of obstacles. */
+    private static final int ROW_SIZE = 16;         /**< @brief Row height of the grid of balls. */
+
+    final EntityStore store;                        /**< @brief Components of every entity on the field. */
+    private final Random random;                    /**< @brief Source of randomness for angles and levels. */
+    private SpeedProfile profile;                   /**< @brief Speed levels, accelerations and angle distributions. */
+    private SpeedStrategy strategy;                 /**< @brief Speed of the current level, kept across profile changes until the next level. */
+    private final Color[] palette;                  /**< @brief Colors entities are drawn in, indexed by their `color` component. */
+    private final SpatialGrid obstacles = new SpatialGrid(Game.WIDTH, Game.HEIGHT, CELL_SIZE); /**< @brief Obstacles by cell, rebuilt with `paddles`. */
+    private int[] paddles = new int[2];             /**< @brief Indices of the paddles, in store order. */
+    private int paddleCount = 0;                    /**< @brief Number of entries of `paddles` in use. */
+    private boolean solidsStale = false;            /**< @brief Set when a paddle or obstacle was added or may have changed index. */
+    private final SpatialGrid ballRows = new SpatialGrid(1, Game.HEIGHT, ROW_SIZE); /**< @brief Balls by row, rebuilt by `trackingSystem`. */
+    private final List<ScoreObserver> observers = new ArrayList<>(); /**< @brief Notified of every point. */
+    private double speedScale = 1.0;                /**< @brief Factor applied to every ball's speed, for power-ups. */
+    private double trackingScale = 1.0;             /**< @brief Factor applied to every tracking factor, for power-ups. */
+    private int ballCount = 0;                      /**< @brief Number of balls on the field. */
+    private int playerScore = 0;                    /**< @brief Score of the player. */
+    private int enemyScore = 0;                     /**< @brief Score of the enemy. */
+    private int lastTotalScore = 0;                 /**< @brief Last total score at which the level changed. */
+    private long paddleBounces = 0;                 /**< @brief Bounces of any ball off a paddle or obstacle. */
+    private long wallBounces = 0;                   /**< @brief Bounces of any ball off a side wall. */
+    private long ticks = 0;                         /**< @brief Number of steps simulated so far. */
+
+    /**
+     * @brief Constructs an empty field.
+     *
+     * @param random Source of randomness for angles and levels.
+     * @param profile Speed levels, accelerations and angle distributions.
+     * @param capacity Number of entities that fit before the store grows.
+     */
+    public EntityWorld(Random random, SpeedProfile profile, int capacity) {
+        this.random = random;
+        this.profile = profile;
+        this.store = new EntityStore(capacity);
+        this.strategy = profile.level(0);
+        this.palette = new Color[] {Color.WHITE, profile.color(0)};
+    }
+
+    /**
+     * @brief Builds the classic field with the built-in speed profile.
+     *
+     * @param seed Seed for angles and levels; equal seeds and inputs give equal matches.
+     * @return The field.
+     */
+    public static EntityWorld classic(long seed) {
+        return classic(new Random(seed), SpeedProfile.builtIn());
+    }
+
+    /**
+     * @brief Builds the classic field: player paddle, enemy paddle and one ball.
+     *
+     * @param random Source of randomness for angles and levels; a seeded one makes the match reproducible.
+     * @param profile Speed levels, accelerations and angle distributions.
+     * @return The field.
+     */
+    public static EntityWorld classic(Random random, SpeedProfile profile) {
+        EntityWorld world = new EntityWorld(random, profile, 4);
+        world.addPaddle(100, 155, PADDLE_WIDTH, EntityStore.CONTROL_INPUT, 0);
+        world.addPaddle(100, 0, PADDLE_WIDTH, EntityStore.CONTROL_TRACK, DIFFICULTY);
+        world.addBall();
+        return world;
+    }
+
+    /**
+     * @brief Benchmarks the systems with a growing number of obstacles from the command line.
+     *
+     * Usage: `EntityWorld [ticks]`. Prints ticks per second and nanoseconds per entity per tick,
+     * which stays roughly constant as entities are added.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+        for (int obstacles = 0; obstacles <= 256; obstacles = Math.max(1, obstacles * 4)) {
+            EntityWorld world = classic(obstacles);
+            for (int i = 0; i < obstacles; i++) {
+                world.addObstacle(10 + (i * 37) % (Game.WIDTH - 20), 30 + (i * 53) % (Game.HEIGHT - 60), 4, 2);
+            }
+
+            for (int t = 0; t < ticks; t++) {
+                world.tick(t % 3);
+            }
+
+            long start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                world.tick(t % 3);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%4d entities: %8.0f k ticks/s  %6.2f ns/entity/tick%n", world.store.size(),
+                    ticks * 1e6 / elapsed, (double) elapsed / ticks / world.store.size());
+        }
+    }
+
+    /**
+     * @brief Adds a paddle.
+     *
+     * @param x X-coordinate.
+     * @param y Y-coordinate.
+     * @param width Width of the paddle.
+     * @param controller `CONTROL_INPUT`, `CONTROL_TRACK` or `CONTROL_NONE`.
+     * @param trackingFactor Factor applied to the ball's x-coordinate by `CONTROL_TRACK`.
+     * @return Index of the paddle.
+     */
+    public int addPaddle(int x, int y, int width, byte controller, double trackingFactor) {
+        int i = store.create(EntityStore.KIND_PADDLE, controller, x, y, width, PADDLE_HEIGHT, COLOR_WHITE);
+        store.param[i] = trackingFactor;
+        solidsStale = true;
+        return i;
+    }
+
+    /**
+     * @brief Adds a static obstacle the ball bounces off.
+     *
+     * @param x X-coordinate.
+     * @param y Y-coordinate.
+     * @param width Width of the obstacle.
+     * @param height Height of the obstacle.
+     * @return Index of the obstacle.
+     */
+    public int addObstacle(int x, int y, int width, int height) {
+        solidsStale = true;
+        return store.create(EntityStore.KIND_OBSTACLE, EntityStore.CONTROL_NONE, x, y, width, height, COLOR_WHITE);
+    }
+
+    /**
+     * @brief Adds a ball in the middle of the field at a random launch angle.
+     *
+     * @return Index of the ball.
+     */
+    public int addBall() {
+        int i = store.create(EntityStore.KIND_BALL, EntityStore.CONTROL_PHYSICS, 0, 0, BALL_SIZE, BALL_SIZE, COLOR_LEVEL);
+        ballCount++;
+        resetBall(i);
+        return i;
+    }
+
+    /**
+     * @brief Adds a ball at the position of another one, moving mirrored in x.
+     *
+     * @param b Index of the ball to split.
+     * @return Index of the new ball.
+     */
+    public int splitBall(int b) {
+        EntityStore s = store;
+        int i = s.create(EntityStore.KIND_BALL, EntityStore.CONTROL_PHYSICS, s.x[b], s.y[b], s.width[b], s.height[b], s.color[b]);
+        ballCount++;
+        s.dirX[i] = -s.dirX[b];
+        s.dirY[i] = s.dirY[b];
+        s.hits[i] = s.hits[b];
+        setSpeed(i);
+        return i;
+    }
+
+    /**
+     * @brief Resizes a paddle, keeping it on the field.
+     *
+     * @param i Index of the paddle.
+     * @param width New width in pixels.
+     * @param height New height in pixels.
+     */
+    public void setPaddleSize(int i, int width, int height) {
+        store.width[i] = width;
+        store.height[i] = height;
+        store.x[i] = Math.max(0, Math.min(store.x[i], Game.WIDTH - width));
+    }
+
+    /**
+     * @brief Sets how closely a tracking paddle follows the ball.
+     *
+     * @param i Index of the paddle.
+     * @param factor Factor applied to the ball's x-coordinate, between 0.0 and 1.0, where 1 is perfect tracking.
+     */
+    public void setTrackingFactor(int i, double factor) {
+        store.param[i] = factor;
+    }
+
+    /**
+     * @brief Sets the factor applied to every ball's speed and applies it at once.
+     *
+     * @param scale The new factor; 1 for normal speed.
+     */
+    public void setSpeedScale(double scale) {
+        speedScale = scale;
+        updateSpeeds();
+    }
+
+    /**
+     * @brief Sets the factor applied to the tracking factor of every paddle, on top of its own.
+     *
+     * Kept apart from the paddles' factors, so changing the difficulty does not undo it.
+     *
+     * @param scale The new factor; 1 for normal tracking.
+     */
+    public void setTrackingScale(double scale) {
+        trackingScale = scale;
+    }
+
+    /**
+     * @brief Switches to another speed profile, keeping the current level's speed and color until the next change.
+     *
+     * @param profile The new speed profile.
+     */
+    public void setProfile(SpeedProfile profile) {
+        if (profile == this.profile) {
+            return;
+        }
+        this.profile = profile;
+        updateSpeeds();
+    }
+
+    /**
+     * @brief Adds an observer notified of every point.
+     *
+     * @param observer The observer to add.
+     */
+    public void addObserver(ScoreObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * @brief Removes an observer.
+     *
+     * @param observer The observer to remove.
+     */
+    public void removeObserver(ScoreObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * @brief Advances the field by one step.
+     *
+     * @param input One of `Match.INPUT_NONE`, `Match.INPUT_LEFT` or `Match.INPUT_RIGHT`.
+     */
+    public void tick(int input) {
+        inputSystem(input);
+        movementSystem();
+        collisionSystem();
+        scoringSystem();
+        trackingSystem();
+        ticks++;
+    }
+
+    /**
+     * @brief Moves every input-controlled paddle one pixel and keeps it on the field.
+     *
+     * @param input One of `Match.INPUT_NONE`, `Match.INPUT_LEFT` or `Match.INPUT_RIGHT`.
+     */
+    void inputSystem(int input) {
+        if (input == Match.INPUT_NONE) {
+            return;
+        }
+        int step = input == Match.INPUT_RIGHT ? 1 : -1;
+
+        EntityStore s = store;
+        for (int i = 0; i < s.count; i++) {
+            if (s.controller[i] != EntityStore.CONTROL_INPUT) {
+                continue;
+            }
+            s.x[i] += step;
+            if (s.x[i] + s.width[i] > Game.WIDTH) {
+                s.x[i]--;
+            } else if (s.x[i] < 0) {
+                s.x[i]++;
+            }
+        }
+    }
+
+    /**
+     * @brief Advances every physics entity by its velocity and bounces it off the side walls.
+     */
+    void movementSystem() {
+        EntityStore s = store;
+        for (int i = 0; i < s.count; i++) {
+            if (s.controller[i] != EntityStore.CONTROL_PHYSICS) {
+                continue;
+            }
+            s.x[i] += s.vx[i];
+            s.y[i] += s.vy[i];
+
+            if (s.x[i] <= 0 || s.x[i] >= Game.WIDTH - s.width[i]) {
+                s.dirX[i] = -s.dirX[i];
+                s.vx[i] = -s.vx[i];
+                wallBounces++;
+            }
+        }
+    }
+
+    /**
+     * @brief Bounces every ball off the solid entity with the lowest index it overlaps.
+     *
+     * Each ball is tested against the paddles and against the obstacles in the cells it covers.
+     * The ball leaves at a random bounce angle, towards the middle of the field after a paddle and
+     * away from the vertical centre of an obstacle, and speeds up by the profile's rally
+     * acceleration.
+     */
+    void collisionSystem() {
+        if (ballCount == 0) {
+            return;
+        }
+        if (solidsStale) {
+            indexSolids();
+        }
+        EntityStore s = store;
+        SpatialGrid grid = obstacles;
+
+        for (int b = 0; b < s.count; b++) {
+            if (s.kind[b] != EntityStore.KIND_BALL) {
+                continue;
+            }
+            int hit = -1;
+            for (int k = 0; k < paddleCount; k++) {
+                int i = paddles[k];
+                if ((hit < 0 || i < hit) && overlaps(b, i)) {
+                    hit = i;
+                }
+            }
+
+            int bx = (int) s.x[b];
+            int by = (int) s.y[b];
+            int c1 = grid.column(bx + s.width[b] - 1);
+            int r1 = grid.row(by + s.height[b] - 1);
+            for (int r = grid.row(by); r <= r1; r++) {
+                for (int c = grid.column(bx); c <= c1; c++) {
+                    for (int e = grid.first(c, r); e >= 0; e = grid.next(e)) {
+                        int i = grid.entity(e);
+                        if ((hit < 0 || i < hit) && overlaps(b, i)) {
+                            hit = i;
+                        }
+                    }
+                }
+            }
+            if (hit >= 0) {
+                boolean down = s.kind[hit] == EntityStore.KIND_PADDLE
+                        ? (int) s.y[hit] < Game.HEIGHT / 2
+                        : s.y[b] + s.height[b] / 2.0 > (int) s.y[hit] + s.height[hit] / 2.0;
+                bounce(b, down);
+            }
+        }
+    }
+
+    /**
+     * @brief Checks whether two entities overlap, on whole pixels.
+     *
+     * @param a Index of the first entity.
+     * @param b Index of the second entity.
+     * @return True if their boxes overlap.
+     */
+    private boolean overlaps(int a, int b) {
+        EntityStore s = store;
+        int ax = (int) s.x[a];
+        int ay = (int) s.y[a];
+        int bx = (int) s.x[b];
+        int by = (int) s.y[b];
+        return ax < bx + s.width[b] && bx < ax + s.width[a] && ay < by + s.height[b] && by < ay + s.height[a];
+    }
+
+    /**
+     * @brief Lists the paddles and puts the obstacles in their grid.
+     */
+    private void indexSolids() {
+        EntityStore s = store;
+        obstacles.clear();
+        paddleCount = 0;
+        for (int i = 0; i < s.count; i++) {
+            if (s.kind[i] == EntityStore.KIND_PADDLE) {
+                if (paddleCount == paddles.length) {
+                    paddles = Arrays.copyOf(paddles, paddleCount * 2);
+                }
+                paddles[paddleCount++] = i;
+            } else if (s.kind[i] == EntityStore.KIND_OBSTACLE && s.width[i] > 0 && s.height[i] > 0) {
+                obstacles.insert(i, (int) s.x[i], (int) s.y[i], s.width[i], s.height[i]);
+            }
+        }
+        solidsStale = false;
+    }
+
+    /**
+     * @brief Awards points for balls that left the field and changes level every few points.
+     */
+    void scoringSystem() {
+        EntityStore s = store;
+        for (int b = 0; b < s.count; b++) {
+            if (s.kind[b] != EntityStore.KIND_BALL) {
+                continue;
+            }
+            if (s.y[b] >= Game.HEIGHT) {
+                enemyScore++;
+            } else if (s.y[b] <= 0) {
+                playerScore++;
+            } else {
+                continue;
+            }
+            for (int o = 0; o < observers.size(); o++) {
+                observers.get(o).updateScore(playerScore, enemyScore);
+            }
+
+            if (ballCount > 1) {
+                s.remove(b);
+                ballCount--;
+                solidsStale = true;
+                b--;
+            } else {
+                resetBall(b);
+            }
+        }
+
+        int totalScore = playerScore + enemyScore;
+        if (totalScore > lastTotalScore && totalScore % profile.getChangeEvery() == 0) {
+            int level = random.nextInt(profile.levelCount());
+            strategy = profile.level(level);
+            palette[COLOR_LEVEL] = profile.color(level);
+            updateSpeeds();
+            lastTotalScore = totalScore;
+        }
+    }
+
+    /**
+     * @brief Moves every tracking paddle after the ball closest to it vertically.
+     *
+     * The paddle follows the ball's x-coordinate scaled by its factor and is stepped back onto the
+     * field one pixel at a time. With several balls they are put in rows first, so each paddle
+     * only looks at the rows that can still hold a closer ball.
+     */
+    void trackingSystem() {
+        if (ballCount == 0) {
+            return;
+        }
+        if (solidsStale) {
+            indexSolids();
+        }
+        EntityStore s = store;
+        int only = -1;
+        boolean indexed = false;
+        for (int k = 0; k < paddleCount; k++) {
+            int i = paddles[k];
+            if (s.controller[i] != EntityStore.CONTROL_TRACK) {
+                continue;
+            }
+
+            int target;
+            if (ballCount == 1) {
+                if (only < 0) {
+                    only = firstBall();
+                }
+                target = only;
+            } else {
+                if (!indexed) {
+                    indexBallRows();
+                    indexed = true;
+                }
+                target = nearestBall(s.y[i]);
+            }
+
+            double x = s.x[target] * s.param[i] * trackingScale;
+            while (x > Game.WIDTH - s.width[i]) {
+                x--;
+            }
+            while (x < 0) {
+                x++;
+            }
+            s.x[i] = x;
+        }
+    }
+
+    /**
+     * @brief Finds the ball with the lowest index.
+     *
+     * @return Index of the ball, or -1 if there is none.
+     */
+    private int firstBall() {
+        EntityStore s = store;
+        for (int b = 0; b < s.count; b++) {
+            if (s.kind[b] == EntityStore.KIND_BALL) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @brief Puts every ball in the row of its y-coordinate.
+     */
+    private void indexBallRows() {
+        EntityStore s = store;
+        ballRows.clear();
+        for (int b = 0; b < s.count; b++) {
+            if (s.kind[b] == EntityStore.KIND_BALL) {
+                ballRows.insert(b, 0, (int) s.y[b], 1, 1);
+            }
+        }
+    }
+
+    /**
+     * @brief Finds the ball closest to a y-coordinate, the lowest index winning ties.
+     *
+     * Rows are searched outwards from the row of `y` until the nearest edge of the next row is
+     * further away than the best ball found.
+     *
+     * @param y The y-coordinate.
+     * @return Index of the ball, or -1 if there is none.
+     */
+    private int nearestBall(double y) {
+        int rows = ballRows.getRows();
+        int size = ballRows.getCellSize();
+        int home = ballRows.row((int) y);
+
+        int best = -1;
+        for (int k = 0; home - k >= 0 || home + k < rows; k++) {
+            double distance = best < 0 ? Double.MAX_VALUE : Math.abs(store.y[best] - y);
+            boolean searchAbove = home - k >= 0 && y - (home - k + 1) * size <= distance;
+            boolean searchBelow = k > 0 && home + k < rows && (home + k) * size - y <= distance;
+            if (k > 0 && !searchAbove && !searchBelow) {
+                break;
+            }
+            if (searchAbove) {
+                best = nearestInRow(home - k, y, best);
+            }
+            if (searchBelow) {
+                best = nearestInRow(home + k, y, best);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Finds the ball of a row closer to a y-coordinate than a given one.
+     *
+     * @param row The row.
+     * @param y The y-coordinate.
+     * @param best Index of the closest ball so far, or -1.
+     * @return Index of the closest ball, or `best` if the row has none closer.
+     */
+    private int nearestInRow(int row, double y, int best) {
+        double distance = best < 0 ? Double.MAX_VALUE : Math.abs(store.y[best] - y);
+        for (int e = ballRows.first(0, row); e >= 0; e = ballRows.next(e)) {
+            int b = ballRows.entity(e);
+            double d = Math.abs(store.y[b] - y);
+            if (d < distance || (d == distance && b < best)) {
+                distance = d;
+                best = b;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Sends a ball off a solid entity at a random bounce angle.
+     *
+     * @param b Index of the ball.
+     * @param down True if the ball must leave downwards.
+     */
+    private void bounce(int b, boolean down) {
+        SpeedProfile.AngleDistribution bounce = profile.getBounce();
+        int index = bounce.pick(random);
+        double dy = bounce.dy(index);
+        if ((down && dy < 0) || (!down && dy > 0)) {
+            dy = -dy;
+        }
+
+        store.dirX[b] = bounce.dx(index);
+        store.dirY[b] = dy;
+        store.hits[b]++;
+        paddleBounces++;
+        setSpeed(b);
+    }
+
+    /**
+     * @brief Puts a ball back in the middle at a random launch angle.
+     *
+     * @param b Index of the ball.
+     */
+    private void resetBall(int b) {
+        EntityStore s = store;
+        s.x[b] = Game.WIDTH / 2;
+        s.y[b] = Game.HEIGHT / 2;
+        s.hits[b] = 0;
+
+        SpeedProfile.AngleDistribution launch = profile.getLaunch();
+        int index = launch.pick(random);
+        s.dirX[b] = launch.dx(index);
+        s.dirY[b] = launch.dy(index);
+        setSpeed(b);
+    }
+
+    /**
+     * @brief Recomputes the speed of every ball.
+     */
+    private void updateSpeeds() {
+        EntityStore s = store;
+        for (int b = 0; b < s.count; b++) {
+            if (s.kind[b] == EntityStore.KIND_BALL) {
+                setSpeed(b);
+            }
+        }
+    }
+
+    /**
+     * @brief Recomputes a ball's speed from the level, its rally and the score, and folds it into its velocity.
+     *
+     * @param b Index of the ball.
+     */
+    private void setSpeed(int b) {
+        double speed = profile.speed(strategy, store.hits[b], playerScore + enemyScore) * speedScale;
+        store.vx[b] = store.dirX[b] * speed;
+        store.vy[b] = store.dirY[b] * speed;
+    }
+
+    /**
+     * @brief Gets the color an entity is drawn in.
+     *
+     * @param i Index of the entity.
+     * @return A palette color; never a new object.
+     */
+    public Color color(int i) {
+        return palette[store.color[i]];
+    }
+
+    /**
+     * @brief Gets the factor applied to every tracking factor.
+     *
+     * @return The tracking scale; 1 for normal tracking.
+     */
+    public double getTrackingScale() {
+        return trackingScale;
+    }
+
+    /**
+     * @brief Gets the player's score.
+     *
+     * @return The player's score.
+     */
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    /**
+     * @brief Gets the enemy's score.
+     *
+     * @return The enemy's score.
+     */
+    public int getEnemyScore() {
+        return enemyScore;
+    }
+
+    /**
+     * @brief Gets the number of balls on the field.
+     *
+     * @return The ball count.
+     */
+    public int ballCount() {
+        return ballCount;
+    }
+
+    /**
+     * @brief Gets the number of bounces of any ball off a paddle or an obstacle.
+     *
+     * @return The bounce count.
+     */
+    public long getPaddleBounces() {
+        return paddleBounces;
+    }
+
+    /**
+     * @brief Gets the number of bounces of any ball off a side wall.
+     *
+     * @return The bounce count.
+     */
+    public long getWallBounces() {
+        return wallBounces;
+    }
+
+    /**
+     * @brief Gets the number of steps simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
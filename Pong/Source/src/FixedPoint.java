@@ -0,0 +1,100 @@
+/**
+ * @brief 16.16 fixed-point helpers and integer trigonometry tables.
+ *
+ * Values are `int`s holding a number times 65536. The sine and cosine tables hold one entry per
+ * whole degree and are computed with `StrictMath`, whose results are specified bit for bit, so every
+ * JVM on every CPU builds exactly the same tables.
+ */
+public final class FixedPoint {
+
+    public static final int SHIFT = 16;                 /**< @brief Number of fractional bits. */
+    public static final int ONE = 1 << SHIFT;           /**< @brief The value 1.0. */
+
+    private static final int[] SIN = new int[360];      /**< @brief Sine of every whole degree. */
+    private static final int[] COS = new int[360];      /**< @brief Cosine of every whole degree. */
+
+    static {
+        for (int degree = 0; degree < 360; degree++) {
+            double radians = StrictMath.toRadians(degree);
+            SIN[degree] = (int) StrictMath.round(StrictMath.sin(radians) * ONE);
+            COS[degree] = (int) StrictMath.round(StrictMath.cos(radians) * ONE);
+        }
+    }
+
+    /**
+     * @brief Not instantiable.
+     */
+    private FixedPoint() {
+    }
+
+    /**
+     * @brief Converts a whole number.
+     *
+     * @param value The number.
+     * @return The fixed-point value.
+     */
+    public static int fromInt(int value) {
+        return value << SHIFT;
+    }
+
+    /**
+     * @brief Converts a decimal number, rounding to the nearest representable value.
+     *
+     * @param value The number.
+     * @return The fixed-point value.
+     */
+    public static int fromDouble(double value) {
+        return (int) StrictMath.round(value * ONE);
+    }
+
+    /**
+     * @brief Converts to a decimal number; exact.
+     *
+     * @param value The fixed-point value.
+     * @return The number.
+     */
+    public static double toDouble(int value) {
+        return value / (double) ONE;
+    }
+
+    /**
+     * @brief Truncates to a whole pixel, rounding toward zero like an `(int)` cast of a double.
+     *
+     * @param value The fixed-point value.
+     * @return The whole part.
+     */
+    public static int toPixel(int value) {
+        return value / ONE;
+    }
+
+    /**
+     * @brief Multiplies two fixed-point values.
+     *
+     * @param a First factor.
+     * @param b Second factor.
+     * @return The product, rounded down.
+     */
+    public static int mul(int a, int b) {
+        return (int) (((long) a * b) >> SHIFT);
+    }
+
+    /**
+     * @brief Gets the sine of a whole degree.
+     *
+     * @param degree Angle in degrees, from 0 to 359.
+     * @return The sine.
+     */
+    public static int sin(int degree) {
+        return SIN[degree];
+    }
+
+    /**
+     * @brief Gets the cosine of a whole degree.
+     *
+     * @param degree Angle in degrees, from 0 to 359.
+     * @return The cosine.
+     */
+    public static int cos(int degree) {
+        return COS[degree];
+    }
+}
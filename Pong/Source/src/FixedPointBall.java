@@ -0,0 +1,184 @@
+import java.util.Random;
+
+/**
+ * @brief Ball that follows the ball rules of `EntityWorld` in 16.16 fixed-point integer arithmetic.
+ *
+ * Position and velocity are `int`s, angles come from the integer tables of `FixedPoint`, and random
+ * events are drawn from `java.util.Random`, whose sequence is specified. Given the same seed and the
+ * same paddle positions, a fixed-point ball therefore produces bit-identical results on every JVM
+ * and CPU, which replays and lockstep simulations rely on. Its kinematic state is six `int`s instead
+ * of the six `double`s of a ball in an `EntityStore`.
+ */
+public class FixedPointBall {
+
+    public static final int SIZE = 5;           /**< @brief Width and height of the ball. */
+
+    int x;                                      /**< @brief X-coordinate of the ball, 16.16. */
+    int y;                                      /**< @brief Y-coordinate of the ball, 16.16. */
+    int vx;                                     /**< @brief Per-tick displacement in x, 16.16. */
+    int vy;                                     /**< @brief Per-tick displacement in y, 16.16. */
+    private int dirX;                           /**< @brief Unit direction in x, 16.16. */
+    private int dirY;                           /**< @brief Unit direction in y, 16.16. */
+
+    private final Random random;                /**< @brief Source of randomness for angles and levels. */
+    private final SpeedProfile profile;         /**< @brief Speed levels, accelerations and angle distributions. */
+    private SpeedStrategy speedStrategy;        /**< @brief Current speed level. */
+    private int level = 0;                      /**< @brief Index of the current speed level. */
+    private int speed;                          /**< @brief Current speed, 16.16. */
+    private int rallyHits = 0;                  /**< @brief Paddle hits since the last point. */
+
+    private int playerScore = 0;                /**< @brief Player's score. */
+    private int enemyScore = 0;                 /**< @brief Enemy's score. */
+    private int lastTotalScore = 0;             /**< @brief Last total score at which the level changed. */
+
+    /**
+     * @brief Constructs a ball in the middle of the field.
+     *
+     * @param random Source of randomness for angles and levels.
+     * @param profile Speed levels, accelerations and angle distributions.
+     */
+    public FixedPointBall(Random random, SpeedProfile profile) {
+        this.random = random;
+        this.profile = profile;
+        this.speedStrategy = profile.level(0);
+        reset();
+    }
+
+    /**
+     * @brief Advances the ball one tick against the given paddles.
+     *
+     * @param playerX X-coordinate of the player paddle.
+     * @param playerY Y-coordinate of the player paddle.
+     * @param enemyX X-coordinate of the enemy paddle.
+     * @param enemyY Y-coordinate of the enemy paddle.
+     * @param paddleWidth Width of both paddles.
+     * @param paddleHeight Height of both paddles.
+     */
+    public void tick(int playerX, int playerY, int enemyX, int enemyY, int paddleWidth, int paddleHeight) {
+        x += vx;
+        y += vy;
+
+        if (x <= 0 || x >= FixedPoint.fromInt(Game.WIDTH - SIZE)) {
+            dirX = -dirX;
+            vx = -vx;
+        }
+
+        if (intersects(playerX, playerY, paddleWidth, paddleHeight)) {
+            bounce(false);
+        } else if (intersects(enemyX, enemyY, paddleWidth, paddleHeight)) {
+            bounce(true);
+        }
+
+        checkScoring();
+    }
+
+    /**
+     * @brief Checks whether the ball overlaps a paddle, with the same pixel rounding as `EntityWorld.collisionSystem`.
+     *
+     * @param rx X-coordinate of the paddle.
+     * @param ry Y-coordinate of the paddle.
+     * @param rw Width of the paddle.
+     * @param rh Height of the paddle.
+     * @return True if the ball and the paddle overlap.
+     */
+    private boolean intersects(int rx, int ry, int rw, int rh) {
+        int bx = FixedPoint.toPixel(x);
+        int by = FixedPoint.toPixel(y);
+        return bx < rx + rw && rx < bx + SIZE && by < ry + rh && ry < by + SIZE;
+    }
+
+    /**
+     * @brief Sends the ball off a paddle at a random bounce angle.
+     *
+     * @param hitByEnemy True if the enemy paddle was hit, so the ball must go down.
+     */
+    private void bounce(boolean hitByEnemy) {
+        SpeedProfile.AngleDistribution bounce = profile.getBounce();
+        int angle = bounce.angle(bounce.pick(random));
+        dirX = FixedPoint.sin(angle);
+        dirY = FixedPoint.cos(angle);
+
+        if ((hitByEnemy && dirY < 0) || (!hitByEnemy && dirY > 0)) {
+            dirY = -dirY;
+        }
+
+        rallyHits++;
+        setSpeed(profile.speed(speedStrategy, rallyHits, playerScore + enemyScore));
+    }
+
+    /**
+     * @brief Awards a point when the ball leaves the field and changes level every few points.
+     */
+    private void checkScoring() {
+        if (y >= FixedPoint.fromInt(Game.HEIGHT)) {
+            enemyScore++;
+            reset();
+        } else if (y <= 0) {
+            playerScore++;
+            reset();
+        }
+
+        int totalScore = playerScore + enemyScore;
+        if (totalScore > lastTotalScore && totalScore % profile.getChangeEvery() == 0) {
+            level = random.nextInt(profile.levelCount());
+            speedStrategy = profile.level(level);
+            setSpeed(profile.speed(speedStrategy, rallyHits, totalScore));
+            lastTotalScore = totalScore;
+        }
+    }
+
+    /**
+     * @brief Puts the ball back in the middle at a random launch angle.
+     */
+    private void reset() {
+        x = FixedPoint.fromInt(Game.WIDTH / 2);
+        y = FixedPoint.fromInt(Game.HEIGHT / 2);
+        rallyHits = 0;
+
+        SpeedProfile.AngleDistribution launch = profile.getLaunch();
+        int angle = launch.angle(launch.pick(random));
+        dirX = FixedPoint.sin(angle);
+        dirY = FixedPoint.cos(angle);
+        setSpeed(profile.speed(speedStrategy, 0, playerScore + enemyScore));
+    }
+
+    /**
+     * @brief Sets the speed and folds it into the velocity.
+     *
+     * The speed comes from the profile as a `double`; rounding it to 16.16 is exact on every JVM.
+     *
+     * @param newSpeed The new speed.
+     */
+    private void setSpeed(double newSpeed) {
+        speed = FixedPoint.fromDouble(newSpeed);
+        vx = FixedPoint.mul(dirX, speed);
+        vy = FixedPoint.mul(dirY, speed);
+    }
+
+    /**
+     * @brief Gets the player's score.
+     *
+     * @return The player's score.
+     */
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    /**
+     * @brief Gets the enemy's score.
+     *
+     * @return The enemy's score.
+     */
+    public int getEnemyScore() {
+        return enemyScore;
+    }
+
+    /**
+     * @brief Gets the index of the current speed level.
+     *
+     * @return The level index.
+     */
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Random;
+
+/**
+ * @brief Headless match simulated entirely in fixed-point integer arithmetic.
+ *
+ * Mirrors `Match` step for step: player input, ball, enemy. The player paddle moves a whole pixel
+ * at a time as in `EntityWorld.inputSystem`; the enemy follows the ball with the same rule as
+ * `EntityWorld.trackingSystem`, computed in 16.16.
+ * Equal seeds and inputs give bit-identical matches on any JVM, which `stateHash` makes easy to
+ * check across machines.
+ */
+public class FixedPointMatch {
+
+    private static final int DIFFICULTY = FixedPoint.fromDouble(0.7);   /**< @brief Enemy tracking factor, 16.16. */
+    private static final int ENEMY_Y = 0;                               /**< @brief Y-coordinate of the enemy paddle. */
+    private static final int PLAYER_Y = 155;                            /**< @brief Y-coordinate of the player paddle. */
+    private static final int PADDLE_WIDTH = EntityWorld.PADDLE_WIDTH;   /**< @brief Width of both paddles. */
+    private static final int PADDLE_HEIGHT = EntityWorld.PADDLE_HEIGHT; /**< @brief Height of both paddles. */
+
+    int playerX = 100;                          /**< @brief X-coordinate of the player paddle. */
+    final FixedPointBall ball;                  /**< @brief Ball of this match. */
+    int enemyX = 0;                             /**< @brief X-coordinate of the enemy paddle, 16.16. */
+    private long ticks = 0;                     /**< @brief Number of steps simulated so far. */
+
+    /**
+     * @brief Constructs a new match with the built-in speed profile.
+     *
+     * @param seed Seed for angles and levels; equal seeds and inputs give equal matches.
+     */
+    public FixedPointMatch(long seed) {
+        this(seed, SpeedProfile.builtIn());
+    }
+
+    /**
+     * @brief Constructs a new match.
+     *
+     * @param seed Seed for angles and levels.
+     * @param profile Speed levels, accelerations and angle distributions.
+     */
+    public FixedPointMatch(long seed, SpeedProfile profile) {
+        ball = new FixedPointBall(new Random(seed), profile);
+    }
+
+    /**
+     * @brief Benchmarks fixed-point against double matches from the command line.
+     *
+     * Usage: `FixedPointMatch [matches] [ticks]`.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        for (int round = 0; round < 3; round++) {
+            Match[] doubles = new Match[count];
+            FixedPointMatch[] fixeds = new FixedPointMatch[count];
+            for (int i = 0; i < count; i++) {
+                doubles[i] = new Match(i);
+                fixeds[i] = new FixedPointMatch(i);
+            }
+
+            long start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                for (Match match : doubles) {
+                    match.tick(t % 3);
+                }
+            }
+            long doubleTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int t = 0; t < ticks; t++) {
+                for (FixedPointMatch match : fixeds) {
+                    match.tick(t % 3);
+                }
+            }
+            long fixedTime = System.nanoTime() - start;
+
+            double steps = (double) count * ticks;
+            System.out.printf("double: %.1f M ticks/s   fixed: %.1f M ticks/s%n",
+                    steps * 1000 / doubleTime, steps * 1000 / fixedTime);
+        }
+    }
+
+    /**
+     * @brief Advances the match by one step.
+     *
+     * @param input One of `Match.INPUT_NONE`, `Match.INPUT_LEFT` or `Match.INPUT_RIGHT`.
+     */
+    public void tick(int input) {
+        if (input == Match.INPUT_RIGHT) {
+            playerX++;
+            if (playerX + PADDLE_WIDTH > Game.WIDTH) {
+                playerX--;
+            }
+        } else if (input == Match.INPUT_LEFT) {
+            playerX--;
+            if (playerX < 0) {
+                playerX++;
+            }
+        }
+
+        ball.tick(playerX, PLAYER_Y, FixedPoint.toPixel(enemyX), ENEMY_Y, PADDLE_WIDTH, PADDLE_HEIGHT);
+        trackBall();
+        ticks++;
+    }
+
+    /**
+     * @brief Moves the enemy after the ball with the same rule as `EntityWorld.trackingSystem`.
+     */
+    private void trackBall() {
+        enemyX = FixedPoint.mul(ball.x, DIFFICULTY);
+
+        int max = FixedPoint.fromInt(Game.WIDTH - PADDLE_WIDTH);
+        while (enemyX > max) {
+            enemyX -= FixedPoint.ONE;
+        }
+
+        while (enemyX < 0) {
+            enemyX += FixedPoint.ONE;
+        }
+    }
+
+    /**
+     * @brief Hashes the full simulation state.
+     *
+     * Two matches with the same hash after the same inputs stayed bit-identical.
+     *
+     * @return A 64-bit hash of positions, velocities and scores.
+     */
+    public long stateHash() {
+        long hash = 1469598103934665603L;
+        int[] values = {ball.x, ball.y, ball.vx, ball.vy, playerX, enemyX, ball.getPlayerScore(), ball.getEnemyScore()};
+        for (int value : values) {
+            hash = (hash ^ value) * 1099511628211L;
+        }
+        return hash;
+    }
+
+    /**
+     * @brief Gets the player's score.
+     *
+     * @return The player's score.
+     */
+    public int getPlayerScore() {
+        return ball.getPlayerScore();
+    }
+
+    /**
+     * @brief Gets the enemy's score.
+     *
+     * @return The enemy's score.
+     */
+    public int getEnemyScore() {
+        return ball.getEnemyScore();
+    }
+
+    /**
+     * @brief Gets the number of steps simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * @brief Ball trails, paddle and wall sparks and score bursts drawn over gameplay frames.
+ *
+ * Runs on the render thread only. Each call to `update` compares the new `StateFrame` with the last
+ * one seen: the ball leaves a trail while it moves, and a rise in the bounce counters or the scores
+ * emits sparks or a burst. Counters survive skipped frames, so no event is lost when the renderer
+ * falls behind the simulation. All particles live in one `ParticleSystem`, whose density follows
+ * the measured frame times passed to `adapt`.
+ */
+public class FrameEffects {
+
+    private static final int TRAIL = 2;         /**< @brief Trail particles per frame of ball movement. */
+    private static final int SPARKS = 40;       /**< @brief Particles per paddle hit. */
+    private static final int WALL_SPARKS = 15;  /**< @brief Particles per wall hit. */
+    private static final int BURST = 200;       /**< @brief Particles per point scored. */
+
+    private final ParticleSystem particles;     /**< @brief Pool of every effect particle. */
+    private boolean primed = false;             /**< @brief True once a first frame has been seen. */
+    private long lastTick;                      /**< @brief Tick of the last frame seen. */
+    private long lastPaddleBounces;             /**< @brief Paddle hits in the last frame seen. */
+    private long lastWallBounces;               /**< @brief Wall hits in the last frame seen. */
+    private int lastPlayerScore;                /**< @brief Player's score in the last frame seen. */
+    private int lastEnemyScore;                 /**< @brief Enemy's score in the last frame seen. */
+    private float lastBallX;                    /**< @brief Centre of the ball in the last frame seen, in x. */
+    private float lastBallY;                    /**< @brief Centre of the ball in the last frame seen, in y. */
+
+    /**
+     * @brief Constructs the effects with a pool of the given size.
+     *
+     * @param capacity Maximum number of live particles.
+     */
+    public FrameEffects(int capacity) {
+        particles = new ParticleSystem(capacity, 0x2545F491);
+    }
+
+    /**
+     * @brief Emits the effects of everything that happened since the last frame and advances the particles.
+     *
+     * @param frame The gameplay frame about to be drawn.
+     */
+    public void update(StateFrame frame) {
+        float ballX = frame.ballX + frame.ballSize / 2f;
+        float ballY = frame.ballY + frame.ballSize / 2f;
+
+        if (!primed || frame.tick < lastTick || frame.paddleBounces < lastPaddleBounces) {
+            // first frame or a new match: nothing to compare with
+            particles.clear();
+        } else {
+            int ballColor = frame.ballColor.getRGB() & 0xFFFFFF;
+            if (ballX != lastBallX || ballY != lastBallY) {
+                particles.burst(ballX, ballY, TRAIL, 0.15f, ballColor, 12);
+            }
+            if (frame.paddleBounces > lastPaddleBounces) {
+                particles.burst(ballX, ballY, SPARKS * (int) Math.min(4, frame.paddleBounces - lastPaddleBounces), 1.2f, 0xFFFFFF, 25);
+            }
+            if (frame.wallBounces > lastWallBounces) {
+                particles.burst(ballX, ballY, WALL_SPARKS, 0.8f, ballColor, 20);
+            }
+            if (frame.playerScore > lastPlayerScore) {
+                particles.burst(lastBallX, lastBallY, BURST, 2f, 0x40FF40, 45);
+            }
+            if (frame.enemyScore > lastEnemyScore) {
+                particles.burst(lastBallX, lastBallY, BURST, 2f, 0xFF4040, 45);
+            }
+        }
+
+        primed = true;
+        lastTick = frame.tick;
+        lastPaddleBounces = frame.paddleBounces;
+        lastWallBounces = frame.wallBounces;
+        lastPlayerScore = frame.playerScore;
+        lastEnemyScore = frame.enemyScore;
+        lastBallX = ballX;
+        lastBallY = ballY;
+        particles.update();
+    }
+
+    /**
+     * @brief Draws the live particles over a frame.
+     *
+     * @param pixels RGB pixels of a 240x160 frame, row by row.
+     */
+    public void draw(int[] pixels) {
+        particles.draw(pixels, Game.WIDTH, Game.HEIGHT);
+    }
+
+    /**
+     * @brief Adjusts the particle density from the cost of the last frame.
+     *
+     * @param frameNanos Time the last frame took to draw, without presenting it.
+     * @param budgetNanos Time a frame may take.
+     */
+    public void adapt(long frameNanos, long budgetNanos) {
+        particles.adapt(frameNanos, budgetNanos);
+    }
+
+    /**
+     * @brief Caps the particle density, for example while frames are being skipped.
+     *
+     * @param cap Highest density, between `ParticleSystem.MIN_DENSITY` and 1.
+     */
+    public void setMaxDensity(float cap) {
+        particles.setMaxDensity(cap);
+    }
+
+    /**
+     * @brief Removes every live particle.
+     */
+    public void clear() {
+        particles.clear();
+    }
+
+    /**
+     * @brief Checks whether any particle is still alive, so frames must keep being drawn.
+     *
+     * @return True if particles are alive.
+     */
+    public boolean isActive() {
+        return particles.size() > 0;
+    }
+
+    /**
+     * @brief Gets the particle pool, for tests and metrics.
+     *
+     * @return The particle pool.
+     */
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @brief Lock-free triple buffer handing `StateFrame`s from one writer thread to one reader thread.
+ *
+ * The writer always owns a back frame and the reader a front frame; a third frame sits in the middle.
+ * Publishing swaps the back frame with the middle one and reading the latest swaps the middle frame
+ * with the front one, each with a single atomic exchange. Neither side ever blocks or waits, frames
+ * are never allocated, and the reader always gets the most recent complete frame.
+ */
+public class FrameExchange {
+
+    private static final int FRESH = 4;             /**< @brief Flag set on the middle index when it holds an unread frame. */
+
+    private final StateFrame[] frames = {new StateFrame(), new StateFrame(), new StateFrame()}; /**< @brief The three frames. */
+    private final AtomicInteger middle = new AtomicInteger(1);  /**< @brief Index of the middle frame, plus `FRESH`. */
+    private int back = 0;                           /**< @brief Index of the frame owned by the writer. */
+    private int front = 2;                          /**< @brief Index of the frame owned by the reader. */
+
+    /**
+     * @brief Gets the frame the writer may fill. Writer thread only.
+     *
+     * @return The back frame.
+     */
+    public StateFrame back() {
+        return frames[back];
+    }
+
+    /**
+     * @brief Makes the filled back frame the latest one. Writer thread only.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    /**
+     * @brief Gets the latest published frame. Reader thread only.
+     *
+     * The returned frame stays untouched by the writer until the next call.
+     *
+     * @return The most recent complete frame.
+     */
+    public StateFrame latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & ~FRESH;
+        }
+        return frames[front];
+    }
+}
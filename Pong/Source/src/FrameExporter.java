@@ -0,0 +1,304 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @brief Exports rendered frames as pixel observations in a direct or memory-mapped buffer.
+ *
+ * Pixels are read straight from the `int[]` backing the frame's raster and written once into the
+ * target buffer, optionally downsampled and converted to one grayscale byte per pixel. The buffer
+ * keeps the last `stack` frames in a ring so agents can use frame stacking without copying.
+ *
+ * Buffer layout, big-endian:
+ * - bytes 0..7: number of frames exported so far (long), written after the frame it counts.
+ * - bytes 8..15: width, height (ints) of an exported frame.
+ * - then `stack` slots of `SLOT_HEADER_BYTES + getFrameBytes()` bytes each. Frame `n` (from 0)
+ *   lives in slot `n % stack`: a sequence number (long) followed by the pixels.
+ *
+ * A slot is rewritten in place, so its sequence number works as a seqlock. The exporter sets it to
+ * `2n + 1` before copying frame `n` and to `2n + 2` after. A reader that wants frame `n`:
+ * 1. reads the sequence number, and gives up or waits if it is not `2n + 2`;
+ * 2. copies the pixels;
+ * 3. reads the sequence number again, and keeps the copy only if it did not change.
+ *
+ * Any other outcome means the slot was overwritten during the copy, which with `stack = 1` happens
+ * whenever the reader is slower than one frame. Readers need acquire ordering between the reads,
+ * as `copyFrame` does; a memory-mapped file lets external processes follow the same protocol and
+ * read frames without any copy on the game side.
+ */
+public class FrameExporter {
+
+    public static final int HEADER_BYTES = 16;  /**< @brief Size of the header in front of the frames. */
+    public static final int SLOT_HEADER_BYTES = 8; /**< @brief Size of the sequence number in front of each frame. */
+
+    private final ByteBuffer buffer;            /**< @brief Direct or mapped buffer receiving the frames. */
+    private final int downsample;               /**< @brief Keep one pixel out of `downsample` in each direction. */
+    private final boolean grayscale;            /**< @brief One luma byte per pixel instead of three RGB bytes. */
+    private final int stack;                    /**< @brief Number of frames kept in the ring. */
+    private final int width;                    /**< @brief Width of an exported frame. */
+    private final int height;                   /**< @brief Height of an exported frame. */
+    private final int frameBytes;               /**< @brief Size of one exported frame. */
+    private final int slotBytes;                /**< @brief Size of one ring slot, sequence number included. */
+    private long frames = 0;                    /**< @brief Number of frames exported so far. */
+
+    /**
+     * @brief Constructs an exporter writing into a new direct buffer.
+     *
+     * @param downsample Keep one pixel out of `downsample` in each direction (1 keeps all).
+     * @param grayscale True for one luma byte per pixel, false for RGB.
+     * @param stack Number of frames kept in the ring.
+     */
+    public FrameExporter(int downsample, boolean grayscale, int stack) {
+        this((ByteBuffer) null, downsample, grayscale, stack);
+    }
+
+    /**
+     * @brief Constructs an exporter writing into a memory-mapped file.
+     *
+     * The file is created or resized to hold the header and every frame slot.
+     *
+     * @param file File shared with external readers.
+     * @param downsample Keep one pixel out of `downsample` in each direction (1 keeps all).
+     * @param grayscale True for one luma byte per pixel, false for RGB.
+     * @param stack Number of frames kept in the ring.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public FrameExporter(Path file, int downsample, boolean grayscale, int stack) throws IOException {
+        this(map(file, HEADER_BYTES + stack * (SLOT_HEADER_BYTES + frameBytes(downsample, grayscale))), downsample, grayscale, stack);
+    }
+
+    /**
+     * @brief Constructs an exporter over the given buffer, or a new direct buffer when null.
+     *
+     * @param target Buffer receiving the frames, or null.
+     * @param downsample Keep one pixel out of `downsample` in each direction.
+     * @param grayscale True for one luma byte per pixel, false for RGB.
+     * @param stack Number of frames kept in the ring.
+     */
+    private FrameExporter(ByteBuffer target, int downsample, boolean grayscale, int stack) {
+        if (downsample < 1 || stack < 1) {
+            throw new IllegalArgumentException("downsample and stack must be at least 1");
+        }
+        this.downsample = downsample;
+        this.grayscale = grayscale;
+        this.stack = stack;
+        this.width = Game.WIDTH / downsample;
+        this.height = Game.HEIGHT / downsample;
+        this.frameBytes = frameBytes(downsample, grayscale);
+        this.slotBytes = SLOT_HEADER_BYTES + frameBytes;
+        this.buffer = target != null ? target : ByteBuffer.allocateDirect(HEADER_BYTES + stack * slotBytes);
+        buffer.putLong(0, 0);
+        for (int slot = 0; slot < stack; slot++) {
+            buffer.putLong(HEADER_BYTES + slot * slotBytes, 0);
+        }
+        buffer.putInt(8, width);
+        buffer.putInt(12, height);
+    }
+
+    /**
+     * @brief Runs the game headless and exports every frame, reporting the throughput.
+     *
+     * Usage: `FrameExporter [frames] [downsample] [gray|rgb] [stack] [file]`. No window is opened.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the output file cannot be mapped.
+     */
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int downsample = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        boolean grayscale = args.length > 2 && args[2].equals("gray");
+        int stack = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        FrameExporter exporter = args.length > 4
+                ? new FrameExporter(Paths.get(args[4]), downsample, grayscale, stack)
+                : new FrameExporter(downsample, grayscale, stack);
+
+        Game game = new Game();
+        game.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            game.tick();
+            exporter.export(game.renderFrame());
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d frames %dx%d %s: %.0f frames/s on one core%n",
+                count, exporter.getWidth(), exporter.getHeight(), grayscale ? "gray" : "rgb", count / elapsed);
+    }
+
+    /**
+     * @brief Copies a 240x160 frame into the next ring slot.
+     *
+     * The slot's sequence number is made odd before the copy and even after it, and the frame
+     * counter is updated last.
+     *
+     * @param image Frame of type `TYPE_INT_RGB`, such as the one returned by `Game.renderFrame()`.
+     */
+    public void export(BufferedImage image) {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int stride = image.getWidth();
+        int slot = slotOffset(frames);
+        int offset = slot + SLOT_HEADER_BYTES;
+
+        buffer.putLong(slot, 2 * frames + 1);
+        VarHandle.storeStoreFence();
+
+        for (int y = 0; y < height; y++) {
+            int row = y * downsample * stride;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[row + x * downsample];
+                int r = (rgb >> 16) & 0xFF;
+                int g = (rgb >> 8) & 0xFF;
+                int b = rgb & 0xFF;
+
+                if (grayscale) {
+                    buffer.put(offset++, (byte) ((r * 77 + g * 150 + b * 29) >> 8));
+                } else {
+                    buffer.put(offset++, (byte) r);
+                    buffer.put(offset++, (byte) g);
+                    buffer.put(offset++, (byte) b);
+                }
+            }
+        }
+
+        VarHandle.releaseFence();
+        buffer.putLong(slot, 2 * frames + 2);
+        frames++;
+        buffer.putLong(0, frames);
+    }
+
+    /**
+     * @brief Copies a stacked frame out of the buffer, following the reader protocol.
+     *
+     * Safe to call from another thread than the exporter. Only the buffer is read, never the
+     * exporter's own counter.
+     *
+     * @param age 0 for the newest frame, 1 for the one before, up to `stack - 1`.
+     * @param into Destination of at least `getFrameBytes()` bytes.
+     * @return False if the frame was overwritten before or during the copy; `into` then holds
+     *         garbage and the caller should ask again.
+     */
+    public boolean copyFrame(int age, byte[] into) {
+        long count = buffer.getLong(0);
+        VarHandle.acquireFence();
+        if (age < 0 || age >= stack || age >= count) {
+            throw new IllegalArgumentException("No frame of age " + age);
+        }
+        long frame = count - 1 - age;
+        int slot = slotOffset(frame);
+
+        long sequence = buffer.getLong(slot);
+        VarHandle.acquireFence();
+        if (sequence != 2 * frame + 2) {
+            return false;
+        }
+        for (int i = 0; i < frameBytes; i++) {
+            into[i] = buffer.get(slot + SLOT_HEADER_BYTES + i);
+        }
+        VarHandle.acquireFence();
+        return buffer.getLong(slot) == sequence;
+    }
+
+    /**
+     * @brief Gets the byte offset of the slot holding a frame.
+     *
+     * @param frame Number of the frame, from 0.
+     * @return Offset of the slot's sequence number in `getBuffer()`.
+     */
+    private int slotOffset(long frame) {
+        return HEADER_BYTES + (int) (frame % stack) * slotBytes;
+    }
+
+    /**
+     * @brief Gets the byte offset of a stacked frame.
+     *
+     * Meant for the exporter's own thread; other readers should use `copyFrame` or the protocol
+     * in the class description, since the slot may be rewritten at any time.
+     *
+     * @param age 0 for the newest frame, 1 for the one before, up to `stack - 1`.
+     * @return Offset of the frame's pixels in `getBuffer()`.
+     */
+    public int frameOffset(int age) {
+        if (age < 0 || age >= stack || age >= frames) {
+            throw new IllegalArgumentException("No frame of age " + age);
+        }
+        return slotOffset(frames - 1 - age) + SLOT_HEADER_BYTES;
+    }
+
+    /**
+     * @brief Gets the buffer holding the header and the frame ring.
+     *
+     * @return The direct or mapped buffer written by `export`.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @brief Gets the number of frames exported so far.
+     *
+     * @return The frame counter.
+     */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * @brief Gets the size of one exported frame.
+     *
+     * @return Bytes per frame.
+     */
+    public int getFrameBytes() {
+        return frameBytes;
+    }
+
+    /**
+     * @brief Gets the width of an exported frame.
+     *
+     * @return Width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @brief Gets the height of an exported frame.
+     *
+     * @return Height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @brief Computes the size of one exported frame.
+     *
+     * @param downsample Keep one pixel out of `downsample` in each direction.
+     * @param grayscale True for one byte per pixel, false for three.
+     * @return Bytes per frame.
+     */
+    private static int frameBytes(int downsample, boolean grayscale) {
+        return (Game.WIDTH / downsample) * (Game.HEIGHT / downsample) * (grayscale ? 1 : 3);
+    }
+
+    /**
+     * @brief Maps a file read-write.
+     *
+     * @param file File to map.
+     * @param size Size of the mapping.
+     * @return The mapped buffer.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private static ByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * @brief Decides how much rendering to give up so the simulation stays on time.
+ *
+ * The render thread reports the drawing cost of every frame it shows and how far the simulation
+ * is behind wall time. Under overload the pacer climbs a ladder of levels, one at a time: first it
+ * renders only every second, third and then fourth frame, which leaves the simulation more time
+ * without changing what is drawn; then it lowers the particle density; finally it drops particle
+ * effects and the on-screen overlay. Once frames are cheap again and the simulation has caught up it
+ * climbs back down, again one level at a time and only after a run of good frames, so quality
+ * does not flicker between levels.
+ *
+ * The pacer never reads a clock; every decision comes from the times it is given, so it can be
+ * driven by a fake clock.
+ */
+public class FramePacer {
+
+    public static final int QUALITY_FULL = 0;       /**< @brief Every effect and overlay. */
+    public static final int QUALITY_REDUCED = 1;    /**< @brief Particle density capped at `REDUCED_DENSITY`. */
+    public static final int QUALITY_MINIMAL = 2;    /**< @brief No particle effects and no overlay. */
+
+    public static final int MAX_SKIP = 3;           /**< @brief Most frames skipped for each frame shown. */
+    public static final int MAX_LEVEL = MAX_SKIP + QUALITY_MINIMAL; /**< @brief Highest level of the ladder. */
+    public static final float REDUCED_DENSITY = 0.25f; /**< @brief Particle density cap at reduced quality. */
+
+    static final int DEGRADE_AFTER = 3;             /**< @brief Overloaded frames in a row that raise the level. */
+    static final int RECOVER_AFTER = 60;            /**< @brief Good frames in a row that lower the level. */
+    static final long LAG_STEPS = 2;                /**< @brief Simulation lag, in ticks, that counts as overload. */
+    static final double OVERLOAD_SHARE = 0.75;      /**< @brief Share of the frame period a frame may cost. */
+    static final double RECOVER_SHARE = 0.4;        /**< @brief Share of the frame period a frame must stay under to recover. */
+
+    private int level = 0;                          /**< @brief Current level of the ladder. */
+    private int badFrames = 0;                      /**< @brief Overloaded frames in a row. */
+    private int goodFrames = 0;                     /**< @brief Good frames in a row. */
+    private double averageCost = 0;                 /**< @brief Moving average of the frame cost, in nanoseconds. */
+
+    private long framesShown = 0;                   /**< @brief Frames rendered. */
+    private long framesSkipped = 0;                 /**< @brief Frame periods passed without rendering. */
+    private long degrades = 0;                      /**< @brief Times the level went up. */
+    private long recoveries = 0;                    /**< @brief Times the level went down. */
+    private long lastLag = 0;                       /**< @brief Simulation lag at the last frame. */
+    private long maxLag = 0;                        /**< @brief Largest simulation lag seen. */
+
+    /**
+     * @brief Gets the time to wait between two rendered frames.
+     *
+     * @param frameNanos Period of one frame at the configured frame rate.
+     * @return The period stretched by the frames currently skipped.
+     */
+    public long frameInterval(long frameNanos) {
+        return frameNanos * (getSkip() + 1);
+    }
+
+    /**
+     * @brief Records a rendered frame and moves along the ladder if needed.
+     *
+     * @param start Time drawing the frame began.
+     * @param end Time drawing the frame ended, before it was presented.
+     * @param lagNanos How far the simulation was behind wall time.
+     * @param frameNanos Period of one frame at the configured frame rate.
+     * @param tickNanos Period of one simulation tick.
+     * @return True if the quality changed, so effects must be reconfigured.
+     */
+    public boolean frameDone(long start, long end, long lagNanos, long frameNanos, long tickNanos) {
+        long cost = end - start;
+        averageCost = framesShown == 0 ? cost : averageCost + (cost - averageCost) / 8;
+        framesShown++;
+        framesSkipped += getSkip();
+        lastLag = lagNanos;
+        maxLag = Math.max(maxLag, lagNanos);
+
+        int quality = getQuality();
+        if (lagNanos > LAG_STEPS * tickNanos || averageCost > frameNanos * OVERLOAD_SHARE) {
+            goodFrames = 0;
+            if (++badFrames >= DEGRADE_AFTER && level < MAX_LEVEL) {
+                level++;
+                degrades++;
+                badFrames = 0;
+            }
+        } else {
+            badFrames = 0;
+            boolean cheap = lagNanos <= tickNanos && averageCost < frameNanos * RECOVER_SHARE;
+            goodFrames = cheap ? goodFrames + 1 : 0;
+            if (goodFrames >= RECOVER_AFTER && level > 0) {
+                level--;
+                recoveries++;
+                goodFrames = 0;
+            }
+        }
+        return getQuality() != quality;
+    }
+
+    /**
+     * @brief Gets the current level, from 0 (everything) to `MAX_LEVEL`.
+     *
+     * @return The level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @brief Gets the frames skipped for each frame shown.
+     *
+     * @return A number from 0 to `MAX_SKIP`.
+     */
+    public int getSkip() {
+        return Math.min(level, MAX_SKIP);
+    }
+
+    /**
+     * @brief Gets the quality of effects and overlays.
+     *
+     * @return `QUALITY_FULL`, `QUALITY_REDUCED` or `QUALITY_MINIMAL`.
+     */
+    public int getQuality() {
+        return Math.max(0, level - MAX_SKIP);
+    }
+
+    /**
+     * @brief Gets the number of frames rendered.
+     *
+     * @return The frame count.
+     */
+    public long getFramesShown() {
+        return framesShown;
+    }
+
+    /**
+     * @brief Gets the number of frame periods passed without rendering.
+     *
+     * @return The skipped frame count.
+     */
+    public long getFramesSkipped() {
+        return framesSkipped;
+    }
+
+    /**
+     * @brief Gets the number of times the pacer gave up more rendering.
+     *
+     * @return The count of level increases.
+     */
+    public long getDegrades() {
+        return degrades;
+    }
+
+    /**
+     * @brief Gets the number of times the pacer restored rendering.
+     *
+     * @return The count of level decreases.
+     */
+    public long getRecoveries() {
+        return recoveries;
+    }
+
+    /**
+     * @brief Gets the moving average of the frame cost.
+     *
+     * @return Nanoseconds per rendered frame.
+     */
+    public long getAverageFrameNanos() {
+        return (long) averageCost;
+    }
+
+    /**
+     * @brief Gets the simulation lag reported with the last frame.
+     *
+     * @return The lag in nanoseconds.
+     */
+    public long getLagNanos() {
+        return lastLag;
+    }
+
+    /**
+     * @brief Gets the largest simulation lag reported.
+     *
+     * @return The lag in nanoseconds.
+     */
+    public long getMaxLagNanos() {
+        return maxLag;
+    }
+
+    /**
+     * @brief Describes the current decisions and counters.
+     *
+     * @return A one-line summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("level %d (skip %d, quality %d), %d shown, %d skipped, %d degrades, %d recoveries, %.2f ms/frame, lag %.2f ms (max %.2f ms)",
+                level, getSkip(), getQuality(), framesShown, framesSkipped, degrades, recoveries,
+                averageCost / 1e6, lastLag / 1e6, maxLag / 1e6);
+    }
+}
@@ -0,0 +1,328 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * @brief Records rendered frames on a background encoder thread.
+ *
+ * The render thread only copies the frame's pixels into a buffer taken from a fixed pool and hands
+ * it over through a bounded queue; it never allocates and never waits for the encoder. The encoder thread writes the
+ * buffers to a `FrameSink` and returns them to the pool. When the encoder falls behind and the pool
+ * is empty, a frame is dropped according to the `DropPolicy` and counted in `getDroppedFrames()`.
+ *
+ * `close` may be called from another thread. Capturing and closing share a lock, so the render
+ * thread only waits while a close is queueing its end marker; frames offered after that are
+ * refused and counted as dropped, and the marker is never taken back by `DROP_OLDEST`.
+ */
+public class FrameRecorder implements AutoCloseable {
+
+    /**
+     * @brief What to do with a frame when every pooled buffer is waiting for the encoder.
+     */
+    public enum DropPolicy {
+        DROP_NEWEST,    /**< @brief Skip the frame being captured. */
+        DROP_OLDEST     /**< @brief Reuse the oldest frame not yet encoded. */
+    }
+
+    /**
+     * @brief Destination of recorded frames, called on the encoder thread only.
+     */
+    public interface FrameSink {
+        /**
+         * @brief Encodes one frame.
+         *
+         * @param pixels 240x160 RGB pixels; only valid until the method returns.
+         * @throws IOException If the frame cannot be written.
+         */
+        void write(int[] pixels) throws IOException;
+
+        /**
+         * @brief Finishes the recording.
+         *
+         * @throws IOException If the recording cannot be completed.
+         */
+        void close() throws IOException;
+    }
+
+    private static final int[] END = new int[0];   /**< @brief Marker telling the encoder to stop. */
+
+    private final FrameSink sink;                   /**< @brief Destination of the frames. */
+    private final DropPolicy policy;                /**< @brief Policy applied when the pool is empty. */
+    private final int interval;                     /**< @brief Keep one frame out of `interval`. */
+    private final BlockingQueue<int[]> free;        /**< @brief Buffers ready to be filled. */
+    private final BlockingQueue<int[]> queued;      /**< @brief Filled buffers waiting for the encoder. */
+    private final Thread encoder;                   /**< @brief Thread feeding the sink. */
+
+    private final AtomicLong recorded = new AtomicLong();  /**< @brief Frames handed to the sink. */
+    private final AtomicLong dropped = new AtomicLong();   /**< @brief Frames lost to the drop policy. */
+    private long offered = 0;                       /**< @brief Frames offered by the render thread. */
+    private boolean closed = false;                 /**< @brief Set by `close`; guarded by this recorder's lock. */
+    private volatile IOException failure;           /**< @brief First error raised by the sink. */
+
+    /**
+     * @brief Starts recording into the given sink.
+     *
+     * @param sink Destination of the frames.
+     * @param poolSize Number of pooled frame buffers, which bounds the encoder backlog.
+     * @param interval Keep one frame out of `interval` offered frames.
+     * @param policy Policy applied when the pool is empty.
+     */
+    public FrameRecorder(FrameSink sink, int poolSize, int interval, DropPolicy policy) {
+        this.sink = sink;
+        this.policy = policy;
+        this.interval = Math.max(1, interval);
+        free = new ArrayBlockingQueue<>(poolSize);
+        queued = new ArrayBlockingQueue<>(poolSize + 1);
+        for (int i = 0; i < poolSize; i++) {
+            free.add(new int[Game.WIDTH * Game.HEIGHT]);
+        }
+
+        encoder = new Thread(this::encode, "frame-recorder");
+        encoder.setDaemon(true);
+        encoder.setPriority(Thread.MIN_PRIORITY);
+        encoder.start();
+    }
+
+    /**
+     * @brief Offers a frame to the recording. Called on the render thread.
+     *
+     * @param image A 240x160 `TYPE_INT_RGB` frame, such as the one from `Game.renderFrame()`.
+     * @return True if the frame was queued for encoding, false if it was skipped, dropped, or the
+     *         recorder is closed.
+     */
+    public synchronized boolean capture(BufferedImage image) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (offered++ % interval != 0) {
+            return false;
+        }
+
+        int[] buffer = free.poll();
+        if (buffer == null) {
+            dropped.incrementAndGet();
+            if (policy == DropPolicy.DROP_NEWEST) {
+                return false;
+            }
+            // Only `close` queues END, under this lock and after which nothing is polled
+            buffer = queued.poll();
+            if (buffer == null) {
+                return false;
+            }
+        }
+
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        System.arraycopy(pixels, 0, buffer, 0, buffer.length);
+        queued.add(buffer);
+        return true;
+    }
+
+    /**
+     * @brief Loop of the encoder thread.
+     */
+    private void encode() {
+        try {
+            while (true) {
+                int[] buffer = queued.take();
+                if (buffer == END) {
+                    break;
+                }
+                if (failure == null) {
+                    try {
+                        sink.write(buffer);
+                        recorded.incrementAndGet();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                free.add(buffer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @brief Gets the number of frames handed to the sink.
+     *
+     * @return The recorded frame count.
+     */
+    public long getRecordedFrames() {
+        return recorded.get();
+    }
+
+    /**
+     * @brief Gets the number of frames lost because the encoder fell behind.
+     *
+     * @return The dropped frame count.
+     */
+    public long getDroppedFrames() {
+        return dropped.get();
+    }
+
+    /**
+     * @brief Encodes the frames still queued, then closes the sink. Does nothing when called again.
+     *
+     * @throws IOException If the sink failed at any point of the recording.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queued.add(END);
+        }
+        try {
+            encoder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @brief Writes the recording as an animated, looping GIF.
+     */
+    public static class GifSink implements FrameSink {
+
+        private final ImageOutputStream output;     /**< @brief Stream of the GIF file. */
+        private final ImageWriter writer;           /**< @brief GIF encoder. */
+        private final BufferedImage image;          /**< @brief Reused image wrapping the frame being encoded. */
+        private final int[] pixels;                 /**< @brief Pixels of `image`. */
+        private final IIOMetadata metadata;         /**< @brief Per-frame delay and loop settings. */
+
+        /**
+         * @brief Opens a GIF file.
+         *
+         * @param file File to write.
+         * @param delayMillis Time each frame stays on screen.
+         * @throws IOException If the file cannot be opened.
+         */
+        public GifSink(Path file, int delayMillis) throws IOException {
+            image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+            writer = ImageIO.getImageWritersByFormatName("gif").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+
+            String format = metadata.getNativeMetadataFormatName();
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+            IIOMetadataNode control = child(root, "GraphicControlExtension");
+            control.setAttribute("disposalMethod", "none");
+            control.setAttribute("userInputFlag", "FALSE");
+            control.setAttribute("transparentColorFlag", "FALSE");
+            control.setAttribute("transparentColorIndex", "0");
+            control.setAttribute("delayTime", Integer.toString(Math.max(2, delayMillis / 10)));
+
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+            metadata.setFromTree(format, root);
+
+            output = ImageIO.createImageOutputStream(Files.newOutputStream(file));
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+        }
+
+        @Override
+        public void write(int[] frame) throws IOException {
+            System.arraycopy(frame, 0, pixels, 0, pixels.length);
+            writer.writeToSequence(new IIOImage(image, null, metadata), null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.endWriteSequence();
+            writer.dispose();
+            output.close();
+        }
+
+        /**
+         * @brief Finds or creates a child node of the metadata tree.
+         *
+         * @param root Root of the metadata tree.
+         * @param name Name of the child.
+         * @return The child node.
+         */
+        private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+            for (int i = 0; i < root.getLength(); i++) {
+                if (root.item(i).getNodeName().equals(name)) {
+                    return (IIOMetadataNode) root.item(i);
+                }
+            }
+            IIOMetadataNode node = new IIOMetadataNode(name);
+            root.appendChild(node);
+            return node;
+        }
+    }
+
+    /**
+     * @brief Writes every frame to its own file of raw RGB bytes (`frame-000000.rgb`, ...).
+     */
+    public static class RawSink implements FrameSink {
+
+        private final Path directory;               /**< @brief Directory receiving the frames. */
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(Game.WIDTH * Game.HEIGHT * 3); /**< @brief Reused output buffer. */
+        private int index = 0;                      /**< @brief Number of the next frame file. */
+
+        /**
+         * @brief Writes frames into the given directory, creating it if needed.
+         *
+         * @param directory Directory receiving the frames.
+         * @throws IOException If the directory cannot be created.
+         */
+        public RawSink(Path directory) throws IOException {
+            this.directory = Files.createDirectories(directory);
+        }
+
+        @Override
+        public void write(int[] pixels) throws IOException {
+            bytes.clear();
+            for (int rgb : pixels) {
+                bytes.put((byte) (rgb >> 16));
+                bytes.put((byte) (rgb >> 8));
+                bytes.put((byte) rgb);
+            }
+            bytes.flip();
+
+            Path file = directory.resolve(String.format("frame-%06d.rgb", index++));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            // every frame is closed as soon as it is written
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+
+/**
+ * @brief Draws a `StateFrame` onto a 240x160 canvas.
+ *
+ * Produces the same picture as rendering the entities directly, but reads only the snapshot, so it
+ * can run on a different thread than the simulation.
+ */
+public class FrameRenderer {
+
+    Font menuFont;                              /**< @brief Font of the pause menu, loaded the first time the menu is drawn. */
+
+    /**
+     * @brief Draws a gameplay frame or the pause menu.
+     *
+     * @param g The graphics context to draw on.
+     * @param frame The snapshot to draw.
+     * @param paused True to draw the pause menu instead of the field.
+     * @param menuOptions Options of the pause menu.
+     * @param selectedOption Index of the highlighted option.
+     */
+    public void draw(Graphics g, StateFrame frame, boolean paused, String[] menuOptions, int selectedOption) {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, Game.WIDTH, Game.HEIGHT);
+
+        if (paused) {
+            drawPauseMenu(g, menuOptions, selectedOption);
+        } else {
+            drawField(g, frame);
+        }
+    }
+
+    /**
+     * @brief Draws the entities in store order and the pickups, then the scores and the centre line.
+     *
+     * @param g The graphics context to draw on.
+     * @param frame The snapshot to draw.
+     */
+    public void drawField(Graphics g, StateFrame frame) {
+        for (int i = 0; i < frame.count; i++) {
+            g.setColor(frame.color[i]);
+            g.fillRect(frame.x[i], frame.y[i], frame.width[i], frame.height[i]);
+        }
+
+        g.setColor(Color.WHITE);
+        g.drawString(String.valueOf(frame.playerScore), Game.WIDTH / 2 - 5, Game.HEIGHT / 2 + 15);
+        g.drawString(String.valueOf(frame.enemyScore), Game.WIDTH / 2 - 5, Game.HEIGHT / 2 - 5);
+
+        for (int x = 0; x < Game.WIDTH; x += 10) {
+            g.fillRect(x, Game.HEIGHT / 2, 5, 1);
+        }
+    }
+
+    /**
+     * @brief Draws the pause menu.
+     *
+     * The selected option is highlighted in red.
+     *
+     * @param g The graphics context to draw on.
+     * @param menuOptions Options of the pause menu.
+     * @param selectedOption Index of the highlighted option.
+     */
+    public void drawPauseMenu(Graphics g, String[] menuOptions, int selectedOption) {
+        int menuWidth = 180;
+        int menuHeight = 90;
+        int menuX = (Game.WIDTH - menuWidth) / 2;
+        int menuY = (Game.HEIGHT - menuHeight) / 2;
+
+        g.setColor(Color.BLACK);
+        g.fillRect(menuX, menuY, menuWidth, menuHeight);
+
+        g.setColor(Color.WHITE);
+        g.drawRect(menuX, menuY, menuWidth, menuHeight); // Add white border
+        if (menuFont == null) {
+            menuFont = new Font("Arial", Font.BOLD, 16);
+        }
+        g.setFont(menuFont);
+
+        FontMetrics fm = g.getFontMetrics();
+        int textHeight = fm.getAscent();
+
+        int verticalSpacing = 5; // Adjust spacing between options
+
+        for (int i = 0; i < menuOptions.length; i++) {
+            int textWidth = fm.stringWidth(menuOptions[i]);
+            int textX = menuX + (menuWidth - textWidth) / 2;
+            int textY = menuY + menuHeight / 2 - ((menuOptions.length - 1) * textHeight / 2) + i * (textHeight + verticalSpacing);
+
+            if (i == selectedOption) {
+                g.setColor(Color.RED);
+            } else {
+                g.setColor(Color.WHITE);
+            }
+
+            g.drawString(menuOptions[i], textX, textY);
+        }
+    }
+}
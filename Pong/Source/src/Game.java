@@ -1,13 +1,23 @@
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.JFrame;
 
@@ -19,45 +29,124 @@ import javax.swing.JFrame;
  */
 public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver {
 
+    private static final long serialVersionUID = 1L;            /**< @brief Version of the serialized form inherited from `Canvas`. */
     boolean isRunning = false;                                  /**< @brief Indicates if the game is currently running. */
-    boolean isPaused = false;                                   /**< @brief Indicates if the game is currently paused. */
+    volatile boolean isPaused = false;                          /**< @brief Indicates if the game is currently paused. */
+
+    private static final int[][] TIME_SCALES = {{1, 4}, {1, 2}, {1, 1}, {2, 1}, {4, 1}, {8, 1}, {16, 1}}; /**< @brief Ticks run per step and tick periods per step of each time scale. */
+    static final int NORMAL_TIME_SCALE = 2;                     /**< @brief Index of real-time speed in `TIME_SCALES`. */
+    private volatile int timeScale = NORMAL_TIME_SCALE;         /**< @brief Index of the current time scale. */
+    private volatile boolean stepping = false;                  /**< @brief True while the game only advances on request, one tick at a time. */
+    private final AtomicInteger pendingSteps = new AtomicInteger(); /**< @brief Single steps requested but not yet run. */
 
     private BufferStrategy bs;                                  /**< @brief Buffer strategy for rendering. */
     private BufferedImage image;                                /**< @brief Image buffer for rendering. */
+    private int[] pixels;                                       /**< @brief Pixels of `image`, for effects drawn without `Graphics`. */
 
-    public static Player player;                                /**< @brief Player object. */
-    public static Enemy enemy;                                  /**< @brief Enemy object. */
-    public static Ball ball;                                    /**< @brief Ball object. */
+    EntityWorld world;                                          /**< @brief Paddles and ball of the game. Touched by the simulation thread only. */
+    PowerUps powerUps;                                          /**< @brief Pickups of `world`, or null when the settings turn them off. Touched by the simulation thread only. */
+    private static final int MAX_PICKUPS = 4;                   /**< @brief Most pickups on the field at once. */
+    private static final int MAX_EFFECTS = 32;                  /**< @brief Most power-up effects active at once. */
 
     public static final int WIDTH = 240;                        /**< @brief Width of the game window. */
     public static final int HEIGHT = 160;                       /**< @brief Height of the game window. */
     private final int SCALE = 4;                                /**< @brief Scale factor for the game window. */
 
-    private final int SPEED = 4;                                /**< @brief Speed of the game. */
-    private final int FPS = 60;                                 /**< @brief Frames per second. */
-    private final long ns = 1000000000 / FPS;                   /**< @brief Time per frame in nanoseconds. */
-    private long lastTime = System.nanoTime();                  /**< @brief Last time the game loop was updated. */
-
-    public boolean rightPressedPlayer = false;                  /**< @brief Indicates if the right arrow key is pressed. */
-    public boolean leftPressedPlayer = false;                   /**< @brief Indicates if the left arrow key is pressed. */
+    private volatile GameConfig config = GameConfig.withProfile(SpeedProfile.getDefault()); /**< @brief Current settings: tick rate, frame rate, paddles, difficulty and speeds. */
+    private ConfigWatcher watcher;                              /**< @brief Source of reloaded settings, or null when they are fixed. */
+    private final long PAUSED_REFRESH_NS = 500000000;           /**< @brief Longest wait between two presents while paused. */
+    private long lastTime = System.nanoTime();                  /**< @brief Wall time the simulation has been advanced to. */
+    private static final int MAX_CATCH_UP_STEPS = 16;           /**< @brief Most steps run before publishing when the simulation is behind. */
+    private static final long MAX_BACKLOG_NS = 500000000;       /**< @brief Lag past which the simulation resumes from now instead of catching up. */
+    private volatile long simLagNanos = 0;                      /**< @brief How far the simulation was behind wall time at its last step. */
+    private volatile long resyncs = 0;                          /**< @brief Times the simulation gave up catching up after a stall. */
+    private final FramePacer pacer = new FramePacer();          /**< @brief Decides which renders and effects to give up under load. */
+    private final boolean pacingLog = Boolean.getBoolean("pong.pacingLog"); /**< @brief Print every change of pacing level. */
+    private long ticks = 0;                                     /**< @brief Number of simulation steps run so far. */
+
+    private final FrameExchange exchange = new FrameExchange(); /**< @brief Hands state frames from the simulation thread to the render thread. */
+    private final FrameRenderer renderer = new FrameRenderer(); /**< @brief Draws state frames. */
+    private final StateFrame shown = new StateFrame();          /**< @brief Copy of the last frame composed on screen. */
+    private final StateFrame current = new StateFrame();        /**< @brief Scratch frame for rendering the live entities directly. */
+    private boolean shownPaused = false;                        /**< @brief Whether the frame on screen shows the pause menu. */
+    private int shownOption = 0;                                /**< @brief Menu option highlighted on screen. */
+    private volatile boolean dirty = true;                      /**< @brief Set when the next frame must be recomposed regardless of the game state. */
+    private volatile Thread renderThread;                       /**< @brief Thread running `run`, woken by input. */
+    private volatile Thread simulationThread;                   /**< @brief Thread ticking the game, woken by input. */
+
+    public volatile boolean rightPressedPlayer = false;         /**< @brief Indicates if the right arrow key is pressed. Written by the event thread. */
+    public volatile boolean leftPressedPlayer = false;          /**< @brief Indicates if the left arrow key is pressed. Written by the event thread. */
+    private volatile boolean resetRequested = false;            /**< @brief Set by the menu, cleared when the simulation thread resets the game before its next tick. */
+    private Random random;                                      /**< @brief Source of randomness of every ball of the game. */
 
     private int playerScore = 0;                                /**< @brief Score of the player. */
     private int enemyScore = 0;                                 /**< @brief Score of the enemy. */
 
     private String[] menuOptions = {"Resume", "Reset", "Exit"}; /**< @brief Options in the pause menu. */
-    private int selectedOption = 0;                             /**< @brief Index of the currently selected menu option. */
+    private volatile int selectedOption = 0;                    /**< @brief Index of the currently selected menu option. */
+
+    private volatile FrameRecorder recorder;                    /**< @brief Active GIF recording, or null when not recording. */
+    private boolean recording = false;                          /**< @brief Whether the last toggle started a recording; used by the event thread only. */
+    private final ExecutorService recordingFiles = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recording-files");
+        thread.setDaemon(true);
+        return thread;
+    });                                                         /**< @brief Opens and closes recordings in the order they were toggled, off the event thread. */
+
+    private final FrameEffects effects = new FrameEffects(8192); /**< @brief Trails, sparks and bursts drawn over gameplay frames. */
+
+    private volatile AudioMixer audio;                          /**< @brief Sound effects mixer, or null for a silent game and until it is open. */
+    private boolean withAudio = false;                          /**< @brief Whether to open the mixer once the first frame is shown. */
+    private long heardPaddleBounces = 0;                        /**< @brief Ball paddle hits already sent to the mixer. */
+    private long heardWallBounces = 0;                          /**< @brief Ball wall hits already sent to the mixer. */
+    private int heardPoints = 0;                                /**< @brief Points already sent to the mixer. */
+    private boolean soundsPrimed = false;                       /**< @brief Set once the counters above were taken from the first tick with a mixer. */
+
+    private static long launchNanos = System.nanoTime();        /**< @brief Time `main` was entered, for the startup report. */
+    private boolean firstFrameShown = false;                    /**< @brief Set once the first frame has been presented. */
+    private final boolean trainingRun = Boolean.getBoolean("pong.trainingRun"); /**< @brief Exit once a gameplay frame and the pause menu were shown, to record a class-data archive. */
 
     /**
      * @brief The main entry point of the game.
      * 
      * Creates a new instance of the Game class, starts a new thread for the game loop,
-     * and initializes the game frame.
+     * and initializes the game frame. A speed profile file can be given with
+     * `-Dpong.speedProfile=<file>`, or a settings file with `-Dpong.config=<file>`, which is
+     * watched and applied again whenever it changes.
+     * 
+     * Only what the first frame needs is done before it: the sound mixer is opened once the frame
+     * is on screen, and the game reports how long the frame took to appear.
      * 
      * @param args The command-line arguments.
      * @return void
      */
     public static void main(String[] args) {
+        launchNanos = System.nanoTime();
+        String profileFile = System.getProperty("pong.speedProfile");
+        if (profileFile != null) {
+            try {
+                SpeedProfile.setDefault(SpeedProfile.load(Paths.get(profileFile)));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring speed profile " + profileFile + ": " + e.getMessage());
+            }
+        }
+
         Game game = new Game();
+        game.withAudio = true;
+
+        String configFile = System.getProperty("pong.config");
+        if (configFile != null) {
+            try {
+                game.config = GameConfig.load(Paths.get(configFile));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring settings " + configFile + ": " + e.getMessage());
+            }
+            try {
+                game.watcher = new ConfigWatcher(Paths.get(configFile));
+            } catch (IOException e) {
+                System.err.println("Not watching settings " + configFile + ": " + e.getMessage());
+            }
+        }
         Thread thread = new Thread(game);
         JFrame frame = new JFrame();
 
@@ -76,24 +165,76 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
         this.setPreferredSize(new Dimension(WIDTH * SCALE, HEIGHT * SCALE));
         this.addKeyListener(this);
         image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
     }
 
     /**
      * @brief Sets up the game.
      * 
-     * Starts the game by initializing the player, enemy, and ball objects.
+     * Starts the game by building the field with the player, enemy, and ball.
      * This method should be called before any game logic is executed.
      * 
      * @return void
      */
     public synchronized void start() {
-        player = new Player(100, 155);
-        enemy = new Enemy(100, 0);
-        ball = new Ball();
-        ball.addObserver(this);
+        start(new Random());
+    }
+
+    /**
+     * @brief Sets up the game with launch and bounce angles drawn from the given source.
+     * 
+     * @param random Source of randomness of the ball; a seeded one makes the game reproducible.
+     * @return void
+     */
+    synchronized void start(Random random) {
+        this.random = random;
+        newWorld();
         isRunning = true;
     }
 
+    /**
+     * @brief Switches to new settings. Called on the simulation thread between two ticks.
+     * 
+     * The render loop picks up the new frame rate on its next frame.
+     * 
+     * @param next The new settings.
+     * @return void
+     */
+    void applyConfig(GameConfig next) {
+        configureEntities(next);
+        config = next;
+    }
+
+    /**
+     * @brief Applies the paddle sizes, difficulty and speed profile of some settings to the entities.
+     * 
+     * @param settings The settings to apply.
+     * @return void
+     */
+    private void configureEntities(GameConfig settings) {
+        int playerExtra = powerUps == null ? 0 : powerUps.extraWidth(EntityWorld.PLAYER);
+        int enemyExtra = powerUps == null ? 0 : powerUps.extraWidth(EntityWorld.ENEMY);
+        world.setPaddleSize(EntityWorld.PLAYER, settings.playerWidth + playerExtra, settings.paddleHeight);
+        world.setPaddleSize(EntityWorld.ENEMY, settings.enemyWidth + enemyExtra, settings.paddleHeight);
+        world.setTrackingFactor(EntityWorld.ENEMY, settings.difficulty);
+        world.setProfile(settings.profile);
+    }
+
+    /**
+     * @brief Builds a new classic field, with power-ups if the settings ask for them.
+     * 
+     * The field and its power-ups draw from `random`, so a seeded game stays reproducible across
+     * resets. Whether there are power-ups is only decided here, so changing it waits for a reset.
+     * 
+     * @return void
+     */
+    private void newWorld() {
+        world = EntityWorld.classic(random, config.profile);
+        world.addObserver(this);
+        powerUps = config.powerUps ? new PowerUps(world, new Random(random.nextLong()), MAX_PICKUPS, MAX_EFFECTS) : null;
+        configureEntities(config);
+    }
+
     /**
      * @brief Sets the game panel.
      * 
@@ -117,19 +258,72 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
      * If the right arrow key is pressed, the player moves to the right.
      * If the left arrow key is pressed, the player moves to the left.
      * If the game is paused, the game state is not updated.
+     * A reset asked for from the menu is applied first, so it never lands in the middle of a tick.
      * 
      * @return void
      */
     public void tick() {
+        if (resetRequested) {
+            resetRequested = false;
+            resetGame();
+        }
         if (isPaused) {
             return;
         }
 
         if (rightPressedPlayer) {
-            player.rightPressed();
+            world.tick(Match.INPUT_RIGHT);
         } else if (leftPressedPlayer) {
-            player.leftPressed();
+            world.tick(Match.INPUT_LEFT);
+        } else {
+            world.tick(Match.INPUT_NONE);
+        }
+        if (powerUps != null) {
+            powerUps.tick();
+        }
+        ticks++;
+
+        if (audio != null) {
+            playSounds();
+        }
+    }
+
+    /**
+     * @brief Sends the mixer a sound for every bounce and point since the last tick.
+     * 
+     * Only hands small triggers to the mixer's queue, so the simulation never waits for audio.
+     * The mixer is opened after the first frame, so on the first tick with a mixer the counters
+     * are only taken, and what happened before it was open is not played.
+     * 
+     * @return void
+     */
+    private void playSounds() {
+        int points = playerScore + enemyScore;
+        if (soundsPrimed) {
+            if (world.getPaddleBounces() > heardPaddleBounces) {
+                audio.play(AudioMixer.SOUND_PADDLE);
+            }
+            if (world.getWallBounces() > heardWallBounces) {
+                audio.play(AudioMixer.SOUND_WALL);
+            }
+            if (points > heardPoints) {
+                audio.play(AudioMixer.SOUND_SCORE);
+            }
         }
+        soundsPrimed = true;
+        heardPaddleBounces = world.getPaddleBounces();
+        heardWallBounces = world.getWallBounces();
+        heardPoints = points;
+    }
+
+    /**
+     * @brief Sets the mixer that plays the sound effects.
+     * 
+     * @param mixer The mixer, or null for a silent game.
+     * @return void
+     */
+    void setAudio(AudioMixer mixer) {
+        audio = mixer;
     }
 
     /**
@@ -141,99 +335,432 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
      * @return void
      */
     public void render() {
+        current.capture(ticks, world, powerUps);
+        render(current);
+    }
+
+    /**
+     * @brief Composes a state frame and shows it on screen.
+     * 
+     * Gameplay frames get particle effects on top. The time spent drawing the frame sets how dense
+     * the next effects are, and is reported to the pacer with the lag of the simulation. Capturing
+     * it for a recording and presenting it are not counted: presenting can wait for the display,
+     * and neither changes with the quality the pacer picks.
+     * 
+     * @param frame The snapshot to show.
+     * @return False if there was no buffer strategy yet; one is created and nothing is shown.
+     */
+    private boolean render(StateFrame frame) {
         bs = this.getBufferStrategy();
 
         if (bs == null) {
             this.createBufferStrategy(3);
-            return;
+            return false;
         }
 
-        Graphics g = image.getGraphics();
+        long start = System.nanoTime();
+        dirty = false;
+        shown.copyFrom(frame);
+        shownPaused = isPaused;
+        shownOption = selectedOption;
+        compose(frame, shownPaused, shownOption);
+        long drawn = System.nanoTime();
+
+        FrameRecorder activeRecorder = recorder;
+        if (activeRecorder != null) {
+            activeRecorder.capture(image);
+        }
 
-        g.setColor(new Color(0, 0, 0));
-        g.fillRect(0, 0, WIDTH, HEIGHT);
+        present();
+        effects.adapt(drawn - start, config.frameNanos / 2);
 
-        if (isPaused) {
-            renderPauseMenu(g);
-        } else {
-            player.render(g);
-            ball.render(g);
-            enemy.render(g);
-            
-            g.drawString(String.valueOf(playerScore), WIDTH / 2 - 5, HEIGHT / 2 + 15);
-            g.drawString(String.valueOf(enemyScore), WIDTH / 2 - 5, HEIGHT / 2 - 5);
-            
-            g.setColor(Color.WHITE);
-            for (int x = 0; x < WIDTH; x += 10) {
-                g.fillRect(x, HEIGHT / 2, 5, 1);
+        if (!shownPaused) {
+            int level = pacer.getLevel();
+            if (pacer.frameDone(start, drawn, simLagNanos, config.frameNanos, config.tickNanos)) {
+                applyQuality();
+            }
+            if (pacingLog && pacer.getLevel() != level) {
+                System.out.println("Frame pacing: " + pacer);
             }
         }
 
-        g = bs.getDrawGraphics();
+        if (!firstFrameShown) {
+            firstFrameShown();
+        } else if (trainingRun && shownPaused) {
+            System.exit(0);
+        }
+        return true;
+    }
+
+    /**
+     * @brief Applies the effect quality chosen by the pacer.
+     * 
+     * @return void
+     */
+    private void applyQuality() {
+        int quality = pacer.getQuality();
+        effects.setMaxDensity(quality == FramePacer.QUALITY_FULL ? 1f : FramePacer.REDUCED_DENSITY);
+        if (quality == FramePacer.QUALITY_MINIMAL) {
+            effects.clear();
+        }
+    }
+
+    /**
+     * @brief Reports the time to the first frame and starts the work deferred until it.
+     * 
+     * The time is measured from the start of the JVM when the platform reports it, and from the
+     * entry of `main`. A training run pauses right away so the menu is drawn too.
+     * 
+     * @return void
+     */
+    private void firstFrameShown() {
+        firstFrameShown = true;
+        long sinceMain = (System.nanoTime() - launchNanos) / 1000000;
+        String sinceStart = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis() + " ms after JVM start, ")
+                .orElse("");
+        System.out.println("First frame " + sinceStart + sinceMain + " ms after main");
+
+        if (withAudio) {
+            Thread opener = new Thread(() -> setAudio(AudioMixer.openDefault()), "audio-open");
+            opener.setDaemon(true);
+            opener.start();
+        }
+        if (trainingRun) {
+            isPaused = true;
+            dirty = true;
+        }
+    }
+
+    /**
+     * @brief Shows the last composed frame without recomposing it.
+     * 
+     * @return void
+     */
+    private void present() {
+        if (bs == null) {
+            return;
+        }
+
+        Graphics g = bs.getDrawGraphics();
         g.drawImage(image, 0, 0, WIDTH * SCALE, HEIGHT * SCALE, null);
+        g.dispose();
         bs.show();
     }
 
     /**
-     * @brief Renders the pause menu on the screen.
+     * @brief Checks whether a frame would look different from the one on screen.
      * 
-     * Draws the pause menu with the available options on the screen.
-     * The selected option is highlighted in red.
+     * Covers the pause menu, the scores and the on-screen position of every entity.
+     * 
+     * @param frame The candidate frame.
+     * @return True if the frame differs from the last one composed.
+     */
+    private boolean hasVisibleChange(StateFrame frame) {
+        return !frame.looksLike(shown) || isPaused != shownPaused || selectedOption != shownOption;
+    }
+
+    /**
+     * @brief Marks the screen as changed and wakes both loops if they are waiting.
      * 
-     * @param g The graphics context to render the menu on.
      * @return void
      */
-    private void renderPauseMenu(Graphics g) {
-        int menuWidth = 180;
-        int menuHeight = 90;
-        int menuX = (WIDTH - menuWidth) / 2;
-        int menuY = (HEIGHT - menuHeight) / 2;
+    private void markDirty() {
+        dirty = true;
+        LockSupport.unpark(renderThread);
+        LockSupport.unpark(simulationThread);
+    }
 
-        g.setColor(Color.BLACK);
-        g.fillRect(menuX, menuY, menuWidth, menuHeight);
+    /**
+     * @brief Composes the current frame exactly as the window would show it, without showing it.
+     * 
+     * Unlike `renderFrame()`, gameplay frames get the particle effects, so this is the frame a
+     * headless harness should check. The density of the effects is left as it is.
+     * 
+     * @return The 240x160 image holding the frame, reused by every call.
+     */
+    BufferedImage composeFrame() {
+        current.capture(ticks, world, powerUps);
+        return compose(current, isPaused, selectedOption);
+    }
 
-        g.setColor(Color.WHITE);
-        g.drawRect(menuX, menuY, menuWidth, menuHeight); // Add white border
-        g.setFont(new Font("Arial", Font.BOLD, 16));
+    /**
+     * @brief Composes a state frame with the particle effects of gameplay frames.
+     * 
+     * @param frame The snapshot to compose.
+     * @param paused Whether the frame shows the pause menu.
+     * @param option Menu option highlighted when paused.
+     * @return The 240x160 image holding the frame, reused by every call.
+     */
+    private BufferedImage compose(StateFrame frame, boolean paused, int option) {
+        renderFrame(frame, paused, option);
+        if (!paused && pacer.getQuality() != FramePacer.QUALITY_MINIMAL) {
+            effects.update(frame);
+            effects.draw(pixels);
+        }
+        return image;
+    }
 
-        FontMetrics fm = g.getFontMetrics();
-        int textHeight = fm.getAscent();
+    /**
+     * @brief Composes the current frame into the off-screen image.
+     * 
+     * Needs no window, so it is also the render path of headless runs.
+     * 
+     * @return The 240x160 image holding the frame, reused by every call.
+     */
+    public BufferedImage renderFrame() {
+        current.capture(ticks, world, powerUps);
+        return renderFrame(current, isPaused, selectedOption);
+    }
 
-        int verticalSpacing = 5; // Adjust spacing between options
+    /**
+     * @brief Composes a state frame into the off-screen image.
+     * 
+     * @param frame The snapshot to compose.
+     * @param paused Whether the frame shows the pause menu.
+     * @param option Menu option highlighted when paused.
+     * @return The 240x160 image holding the frame, reused by every call.
+     */
+    private BufferedImage renderFrame(StateFrame frame, boolean paused, int option) {
+        Graphics g = image.getGraphics();
+        renderer.draw(g, frame, paused, menuOptions, option);
 
-        for (int i = 0; i < menuOptions.length; i++) {
-            int textWidth = fm.stringWidth(menuOptions[i]);
-            int textX = menuX + (menuWidth - textWidth) / 2;
-            int textY = menuY + menuHeight / 2 - ((menuOptions.length - 1) * textHeight / 2) + i * (textHeight + verticalSpacing);
+        String label = timeLabel();
+        if (label != null && !paused && pacer.getQuality() != FramePacer.QUALITY_MINIMAL) {
+            g.setColor(Color.YELLOW);
+            g.drawString(label, 2, 12);
+        }
+        g.dispose();
+        return image;
+    }
 
-            if (i == selectedOption) {
-                g.setColor(Color.RED);
-            } else {
-                g.setColor(Color.WHITE);
+    /**
+     * @brief Captures the live entities into the next state frame and publishes it.
+     * 
+     * Called on the simulation thread after every tick.
+     * 
+     * @return void
+     */
+    private void publishState() {
+        exchange.back().capture(ticks, world, powerUps);
+        exchange.publish();
+    }
+
+    /**
+     * @brief Main game loop, run on the render thread.
+     * 
+     * Starts the simulation thread, then draws the latest published state frame at most
+     * `config.frameRate` times per second, and only when it differs from the frame on screen or particles are still
+     * moving. Under load the pacer stretches the time between frames so the simulation keeps
+     * up. While paused nothing
+     * moves, so the loop sleeps until a key is pressed, re-presenting the menu now and then in case
+     * the window was covered.
+     * 
+     * @return void
+     */
+    public void run() {
+        renderThread = Thread.currentThread();
+        publishState();
+        simulationThread = new Thread(this::simulate, "simulation");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
+
+        long lastRender = System.nanoTime() - config.frameNanos;
+        while (isRunning) {
+            this.requestFocus();
+
+            long frameNanos = config.frameNanos;
+            long wait = lastRender + pacer.frameInterval(frameNanos) - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
             }
 
-            g.drawString(menuOptions[i], textX, textY);
+            StateFrame frame = exchange.latest();
+            if (dirty || recorder != null || (!isPaused && effects.isActive()) || hasVisibleChange(frame)) {
+                if (render(frame)) {
+                    lastRender = System.nanoTime();
+                }
+            } else if (isPaused) {
+                LockSupport.parkNanos(this, PAUSED_REFRESH_NS);
+                if (!dirty) {
+                    present();
+                }
+            } else {
+                LockSupport.parkNanos(this, frameNanos);
+            }
         }
     }
 
     /**
-     * @brief Main game loop.
+     * @brief Simulation loop, run on its own thread.
      * 
-     * Runs the game loop, continuously updating and rendering the game.
+     * Ticks the game `config.tickRate` times per second, scaled by the time scale, and publishes
+     * a state frame after every step. Settings reloaded by the watcher are swapped in between two
+     * ticks. While paused, or single-stepping with no step requested, the thread is parked until
+     * a key press wakes it.
      * 
      * @return void
      */
-    public void run() {
+    private void simulate() {
         while (isRunning) {
-            this.requestFocus();
+            if (isPaused || (stepping && pendingSteps.get() == 0)) {
+                LockSupport.park(this);
+                lastTime = System.nanoTime();
+                simLagNanos = 0;
+                continue;
+            }
+
+            if (watcher != null) {
+                GameConfig next = watcher.take();
+                if (next != null) {
+                    applyConfig(next);
+                }
+            }
+
             long now = System.nanoTime();
+            if (runDueTicks(now) == 0) {
+                LockSupport.parkNanos(this, stepNanos() - (now - lastTime));
+            }
+        }
+    }
+
+    /**
+     * @brief Runs the ticks due at the given time and publishes the result.
+     * 
+     * At the normal time scale this is one tick per tick period. Fast-forwarding runs several
+     * ticks per period and slow motion stretches the period, so the ticks themselves, and
+     * therefore the match, are the same at every scale; only their pace changes. While
+     * single-stepping, each requested step runs exactly one tick.
+     * 
+     * Steps are due on a fixed grid: a late call runs every step it missed, up to
+     * `MAX_CATCH_UP_STEPS` at a time, so game time keeps up with wall time under load instead of
+     * slowing down. Only a lag beyond `MAX_BACKLOG_NS`, a stall rather than load, is dropped.
+     * 
+     * @param now The current `System.nanoTime`.
+     * @return The number of ticks run.
+     */
+    int runDueTicks(long now) {
+        if (stepping) {
+            if (pendingSteps.get() == 0) {
+                return 0;
+            }
+            pendingSteps.decrementAndGet();
+            tick();
+            publishState();
+            lastTime = now;
+            return 1;
+        }
+
+        long step = stepNanos();
+        long behind = now - lastTime;
+        if (behind < step) {
+            return 0;
+        }
+        if (behind > MAX_BACKLOG_NS) {
+            resyncs++;
+            lastTime = now - step;
+            behind = step;
+        }
+        simLagNanos = behind - step;
 
-            if (now - lastTime >= ns / SPEED) {
+        int steps = (int) Math.min(MAX_CATCH_UP_STEPS, behind / step);
+        int count = TIME_SCALES[timeScale][0];
+        for (int s = 0; s < steps; s++) {
+            for (int i = 0; i < count; i++) {
                 tick();
-                render();
-                lastTime = now;
             }
         }
+        publishState();
+        lastTime += steps * step;
+        return steps * count;
+    }
+
+    /**
+     * @brief Sets the wall time the simulation has been advanced to.
+     * 
+     * Lets callers that drive `runDueTicks` with their own clock start it from a known time.
+     * 
+     * @param now The time, on the same clock as the times later given to `runDueTicks`.
+     * @return void
+     */
+    void resetClock(long now) {
+        lastTime = now;
+        simLagNanos = 0;
+    }
+
+    /**
+     * @brief Gets the frame pacer, whose counters describe the pacing decisions.
+     * 
+     * @return The pacer. Its counters are written by the render thread.
+     */
+    public FramePacer getPacer() {
+        return pacer;
+    }
+
+    /**
+     * @brief Gets how many times the simulation resumed from the current time after a stall.
+     * 
+     * @return The resync count; game time fell behind wall time only at these points.
+     */
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    /**
+     * @brief Gets the time between two simulation steps at the current time scale.
+     * 
+     * @return The step period in nanoseconds.
+     */
+    private long stepNanos() {
+        return config.tickNanos * TIME_SCALES[timeScale][1];
+    }
+
+    /**
+     * @brief Sets the time scale.
+     * 
+     * @param scale Index in the scale table, clamped to it; `NORMAL_TIME_SCALE` is real time.
+     * @return void
+     */
+    void setTimeScale(int scale) {
+        timeScale = Math.max(0, Math.min(TIME_SCALES.length - 1, scale));
+    }
+
+    /**
+     * @brief Switches single-step mode on or off; switching it off resumes the normal pace.
+     * 
+     * @return void
+     */
+    void toggleStepping() {
+        pendingSteps.set(0);
+        stepping = !stepping;
+    }
+
+    /**
+     * @brief Asks for one more tick while single-stepping.
+     * 
+     * @return void
+     */
+    void requestStep() {
+        if (stepping) {
+            pendingSteps.incrementAndGet();
+        }
+    }
+
+    /**
+     * @brief Describes the current time scale for the overlay.
+     * 
+     * @return "STEP", "x2", "1/2x" and so on, or null at real time.
+     */
+    private String timeLabel() {
+        if (stepping) {
+            return "STEP";
+        }
+        int[] scale = TIME_SCALES[timeScale];
+        if (scale[0] > 1) {
+            return "x" + scale[0];
+        }
+        return scale[1] > 1 ? "1/" + scale[1] + "x" : null;
     }
 
     /**
@@ -252,7 +779,7 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
                 isPaused = false;
                 break;
             case 1:
-                resetGame();
+                resetRequested = true;
                 isPaused = false;
                 break;
             case 2:
@@ -261,24 +788,94 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
         }
     }
 
+    /**
+     * @brief Starts or stops recording the game to an animated GIF.
+     * 
+     * Recordings are written to `pong-<timestamp>.gif` in the working directory, one frame
+     * per game frame at `config.frameRate`. Encoding runs on a background thread.
+     * 
+     * @return void
+     */
+    private void toggleRecording() {
+        String file = "pong-" + System.currentTimeMillis() + ".gif";
+        int delay = 1000 / config.frameRate;
+        toggleRecording(() -> new FrameRecorder.GifSink(Paths.get(file), delay));
+    }
+
+    /**
+     * @brief Starts or stops recording into sinks from the given factory. Called on the event thread.
+     * 
+     * Opening a sink creates its file and writer, and closing a recording waits for the encoder to
+     * drain its queue, so both run on `recordingFiles` and the key press returns at once. Frames
+     * are captured from the moment the recorder is open until the close begins.
+     * 
+     * @param sinks Opens the sink of a new recording.
+     * @return The pending open or close; a failure is printed, not thrown.
+     */
+    Future<?> toggleRecording(Callable<FrameRecorder.FrameSink> sinks) {
+        recording = !recording;
+        if (recording) {
+            return recordingFiles.submit(() -> {
+                try {
+                    recorder = new FrameRecorder(sinks.call(), 8, 1, FrameRecorder.DropPolicy.DROP_NEWEST);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+        return recordingFiles.submit(() -> {
+            FrameRecorder activeRecorder = recorder;
+            recorder = null;
+            try {
+                if (activeRecorder != null) {
+                    activeRecorder.close();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * @brief Gets the active recording.
+     * 
+     * @return The recorder, or null when not recording.
+     */
+    FrameRecorder getRecorder() {
+        return recorder;
+    }
+
     /**
      * @brief Resets the game state to the initial state.
      * 
-     * Resets the player, enemy, ball, and score to their initial values.
+     * Replaces the field with a new one and resets the score. Runs on the simulation thread, at the
+     * start of a tick; the menu only asks for it. The new field draws from the same source as the
+     * first one, so a seeded game stays reproducible across resets.
      * 
      * @return void
      */
     private void resetGame() {
-        player = new Player(100, 155);
-        enemy = new Enemy(100, 0);
-        ball = new Ball();
-        ball.addObserver(this);
+        newWorld();
         playerScore = 0;
         enemyScore = 0;
+        heardPaddleBounces = 0;
+        heardWallBounces = 0;
+        heardPoints = 0;
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
+        handleKeyPress(e);
+        markDirty();
+    }
+
+    /**
+     * @brief Applies a key press to the menu or the player controls.
+     * 
+     * @param e The key event.
+     * @return void
+     */
+    private void handleKeyPress(KeyEvent e) {
         if (isPaused) {
             if (e.getKeyCode() == KeyEvent.VK_UP) {
                 selectedOption = (selectedOption - 1 + menuOptions.length) % menuOptions.length;
@@ -296,6 +893,18 @@ public class Game extends Canvas implements Runnable, KeyListener, ScoreObserver
             leftPressedPlayer = true;
         } else if (e.getKeyCode() == KeyEvent.VK_P) {
             isPaused = !isPaused;
+        } else if (e.getKeyCode() == KeyEvent.VK_R) {
+            toggleRecording();
+        } else if (e.getKeyCode() == KeyEvent.VK_EQUALS || e.getKeyCode() == KeyEvent.VK_ADD || e.getKeyCode() == KeyEvent.VK_PLUS) {
+            setTimeScale(timeScale + 1);
+        } else if (e.getKeyCode() == KeyEvent.VK_MINUS || e.getKeyCode() == KeyEvent.VK_SUBTRACT) {
+            setTimeScale(timeScale - 1);
+        } else if (e.getKeyCode() == KeyEvent.VK_0) {
+            setTimeScale(NORMAL_TIME_SCALE);
+        } else if (e.getKeyCode() == KeyEvent.VK_F) {
+            toggleStepping();
+        } else if (e.getKeyCode() == KeyEvent.VK_SPACE || e.getKeyCode() == KeyEvent.VK_PERIOD) {
+            requestStep();
         }
     }
 
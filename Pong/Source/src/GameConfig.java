@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * @brief Immutable snapshot of the tunable game settings.
+ *
+ * A snapshot is read from a properties file; any missing key keeps its default:
+ * ```
+ * tickRate = 240       # simulation steps per second
+ * frameRate = 60       # rendered frames per second, at most
+ * difficulty = 0.7     # enemy tracking factor, from 0 to 1, where 1 is perfect tracking
+ * playerWidth = 40     # width of the player paddle
+ * enemyWidth = 40      # width of the enemy paddle
+ * paddleHeight = 5     # height of both paddles
+ * powerUps = true      # pickups with timed modifiers, from the next reset
+ * ```
+ * The same file may also hold the keys of a `SpeedProfile`; a file that sets any of them replaces
+ * the whole profile, and a file that sets none keeps the current one. The field size (`Game.WIDTH`,
+ * `Game.HEIGHT`) and the window scale are fixed when the game starts and are not part of the
+ * snapshot. Timings are precomputed in nanoseconds so the loops never convert them.
+ */
+public class GameConfig {
+
+    private static final GameConfig DEFAULTS = new GameConfig(new Properties(), SpeedProfile.builtIn()); /**< @brief The built-in settings. */
+
+    public final int tickRate;                  /**< @brief Simulation steps per second. */
+    public final int frameRate;                 /**< @brief Rendered frames per second, at most. */
+    public final long tickNanos;                /**< @brief Time between two simulation steps. */
+    public final long frameNanos;               /**< @brief Time between two rendered frames. */
+    public final double difficulty;             /**< @brief Enemy tracking factor, from 0 to 1. */
+    public final int playerWidth;               /**< @brief Width of the player paddle. */
+    public final int enemyWidth;                /**< @brief Width of the enemy paddle. */
+    public final int paddleHeight;              /**< @brief Height of both paddles. */
+    public final boolean powerUps;              /**< @brief Whether new fields get `PowerUps`. */
+    public final SpeedProfile profile;          /**< @brief Ball speeds and angles. */
+
+    /**
+     * @brief Builds a snapshot from properties, using defaults for missing keys.
+     *
+     * @param properties The settings.
+     * @param profile Speed profile of the snapshot.
+     * @throws IllegalArgumentException If a value is malformed or out of range.
+     */
+    public GameConfig(Properties properties, SpeedProfile profile) {
+        tickRate = integer(properties, "tickRate", 240);
+        frameRate = integer(properties, "frameRate", 60);
+        difficulty = number(properties, "difficulty", 0.7);
+        playerWidth = integer(properties, "playerWidth", 40);
+        enemyWidth = integer(properties, "enemyWidth", 40);
+        paddleHeight = integer(properties, "paddleHeight", 5);
+        powerUps = flag(properties, "powerUps", true);
+        this.profile = profile;
+
+        if (tickRate < 1 || frameRate < 1 || playerWidth < 1 || enemyWidth < 1 || paddleHeight < 1
+                || playerWidth > Game.WIDTH || enemyWidth > Game.WIDTH || difficulty < 0 || difficulty > 1) {
+            throw new IllegalArgumentException("Game settings out of range");
+        }
+        tickNanos = 1000000000L / tickRate;
+        frameNanos = 1000000000L / frameRate;
+    }
+
+    /**
+     * @brief Reads a snapshot from a properties file.
+     *
+     * The speed profile is read from the same file if it sets any profile key; otherwise the
+     * snapshot keeps `SpeedProfile.getDefault()`.
+     *
+     * @param file The settings file.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is empty, or a value is malformed or out of range.
+     */
+    public static GameConfig load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return read(reader, SpeedProfile.getDefault());
+        }
+    }
+
+    /**
+     * @brief Parses a snapshot from the contents of a properties file.
+     *
+     * @param text The file contents, in UTF-8.
+     * @param current Profile kept when the text sets no profile key.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If the text holds no settings, or a value is malformed or out of range.
+     */
+    public static GameConfig parse(byte[] text, SpeedProfile current) {
+        try {
+            return read(new StringReader(new String(text, StandardCharsets.UTF_8)), current);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // a StringReader does not fail
+        }
+    }
+
+    /**
+     * @brief Reads a snapshot from properties text.
+     *
+     * @param reader Source of the text.
+     * @param current Profile kept when the text sets no profile key.
+     * @return The snapshot.
+     * @throws IOException If the text cannot be read.
+     * @throws IllegalArgumentException If the text holds no settings, or a value is malformed or out of range.
+     */
+    private static GameConfig read(Reader reader, SpeedProfile current) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        if (properties.isEmpty()) {
+            // An empty file is most likely one caught between truncation and write
+            throw new IllegalArgumentException("No settings in file");
+        }
+        SpeedProfile profile = SpeedProfile.isDefinedIn(properties) ? new SpeedProfile(properties) : current;
+        return new GameConfig(properties, profile);
+    }
+
+    /**
+     * @brief Gets the built-in settings, equal to the original constants, with power-ups.
+     *
+     * @return The default snapshot.
+     */
+    public static GameConfig defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @brief Gets the built-in settings with another speed profile.
+     *
+     * @param profile The speed profile.
+     * @return The snapshot.
+     */
+    public static GameConfig withProfile(SpeedProfile profile) {
+        return new GameConfig(new Properties(), profile);
+    }
+
+    /**
+     * @brief Reads a whole number with a default.
+     *
+     * @param properties The settings.
+     * @param key The key to read.
+     * @param fallback Value used when the key is missing.
+     * @return The number.
+     */
+    private static int integer(Properties properties, String key, int fallback) {
+        String value = properties.getProperty(key);
+        try {
+            return value == null ? fallback : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * @brief Reads `true` or `false` with a default.
+     *
+     * @param properties The settings.
+     * @param key The key to read.
+     * @param fallback Value used when the key is missing.
+     * @return The value.
+     */
+    private static boolean flag(Properties properties, String key, boolean fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return fallback;
+        }
+        if (value.trim().equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.trim().equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+    }
+
+    /**
+     * @brief Reads a number with a default.
+     *
+     * @param properties The settings.
+     * @param key The key to read.
+     * @param fallback Value used when the key is missing.
+     * @return The number.
+     */
+    private static double number(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        try {
+            return value == null ? fallback : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+}
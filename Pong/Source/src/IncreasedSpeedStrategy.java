@@ -0,0 +1,16 @@
+/**
+ * @brief Represents an increased speed strategy.
+ * 
+ * This strategy returns a medium speed value.
+ */
+class IncreasedSpeedStrategy implements SpeedStrategy {
+    /**
+     * @brief Retrieves the medium speed value.
+     * 
+     * @return The medium speed value, which is 1.0.
+     */
+    @Override
+    public double getSpeed() {
+        return 1.0;
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * @brief Represents an initial speed strategy.
+ * 
+ * This strategy returns a fixed initial speed value.
+ */
+class InitialSpeedStrategy implements SpeedStrategy {
+    /**
+     * @brief Retrieves the initial speed value.
+     * 
+     * @return The initial speed value, which is 0.7.
+     */
+    @Override
+    public double getSpeed() {
+        return 0.7;
+    }
+}
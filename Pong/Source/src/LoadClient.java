@@ -0,0 +1,186 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * @brief Load generator for `MatchServer` on the loopback interface.
+ *
+ * Opens many sessions from a single thread, sends a random input to every session at a low rate
+ * and asks each one for its state every few rounds. Once per second it prints how many sessions are
+ * open, how many replies came back and their average round-trip latency.
+ */
+public class LoadClient {
+
+    private static final int QUERY_EVERY = 5;   /**< @brief Rounds between two state queries of a session. */
+
+    private final SocketChannel[] channels;     /**< @brief One connection per simulated client. */
+    private final ByteBuffer[] replies;         /**< @brief Partially received state replies. */
+    private final long[] queriedAt;             /**< @brief Time each session last sent a query. */
+    private final Selector selector;            /**< @brief Selector reading every reply. */
+    private final Random random = new Random(); /**< @brief Source of random inputs. */
+
+    private long replyCount = 0;                /**< @brief Replies received since the last report. */
+    private long latencyTotal = 0;              /**< @brief Sum of reply latencies since the last report. */
+
+    /**
+     * @brief Connects the given number of sessions.
+     *
+     * @param port Port of the server on the loopback interface.
+     * @param sessions Number of sessions to open.
+     * @throws IOException If a connection fails.
+     */
+    public LoadClient(int port, int sessions) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        channels = new SocketChannel[sessions];
+        replies = new ByteBuffer[sessions];
+        queriedAt = new long[sessions];
+        selector = Selector.open();
+
+        for (int i = 0; i < sessions; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, i);
+            channels[i] = channel;
+            replies[i] = ByteBuffer.allocate(MatchServer.STATE_BYTES);
+        }
+    }
+
+    /**
+     * @brief Runs the load generator from the command line.
+     *
+     * Usage: `LoadClient [port] [sessions] [inputsPerSecond] [seconds]`.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If a connection fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : MatchServer.DEFAULT_PORT;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        LoadClient client = new LoadClient(port, sessions);
+        System.out.println("Connected " + sessions + " sessions");
+        client.run(rate, seconds);
+        client.close();
+    }
+
+    /**
+     * @brief Drives every session for the given duration.
+     *
+     * @param rate Inputs per second sent by each session.
+     * @param seconds Duration of the run.
+     * @throws IOException If a connection fails.
+     */
+    public void run(int rate, int seconds) throws IOException {
+        long period = 1000000000L / rate;
+        long start = System.nanoTime();
+        long end = start + seconds * 1000000000L;
+        long nextRound = start;
+        long nextReport = start + 1000000000L;
+        long round = 0;
+        ByteBuffer command = ByteBuffer.allocate(1);
+
+        while (System.nanoTime() < end) {
+            long now = System.nanoTime();
+            if (now >= nextRound) {
+                boolean query = round % QUERY_EVERY == 0;
+                for (int i = 0; i < channels.length; i++) {
+                    send(channels[i], command, randomInput());
+                    if (query) {
+                        queriedAt[i] = System.nanoTime();
+                        send(channels[i], command, MatchServer.CMD_QUERY);
+                    }
+                }
+                round++;
+                nextRound += period;
+            }
+
+            if (now >= nextReport) {
+                long average = replyCount == 0 ? 0 : latencyTotal / replyCount / 1000;
+                System.out.println("sessions=" + channels.length + " replies/s=" + replyCount + " avgLatency=" + average + "us");
+                replyCount = 0;
+                latencyTotal = 0;
+                nextReport += 1000000000L;
+            }
+
+            long timeout = Math.max(1, (Math.min(nextRound, nextReport) - System.nanoTime()) / 1000000);
+            selector.select(timeout);
+            readReplies();
+        }
+    }
+
+    /**
+     * @brief Collects every reply that has arrived.
+     *
+     * @throws IOException If a connection fails.
+     */
+    private void readReplies() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+
+            int index = (Integer) key.attachment();
+            ByteBuffer reply = replies[index];
+            if (channels[index].read(reply) < 0) {
+                throw new IOException("Server closed session " + index);
+            }
+            if (!reply.hasRemaining()) {
+                reply.clear();
+                replyCount++;
+                latencyTotal += System.nanoTime() - queriedAt[index];
+            }
+        }
+    }
+
+    /**
+     * @brief Picks a random paddle command.
+     *
+     * @return One of the input commands of the protocol.
+     */
+    private byte randomInput() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return MatchServer.CMD_LEFT;
+            case 1:
+                return MatchServer.CMD_RIGHT;
+            default:
+                return MatchServer.CMD_NONE;
+        }
+    }
+
+    /**
+     * @brief Writes a single command byte.
+     *
+     * @param channel Session to write to.
+     * @param buffer Reusable one-byte buffer.
+     * @param value Command to send.
+     * @throws IOException If the connection fails.
+     */
+    private static void send(SocketChannel channel, ByteBuffer buffer, byte value) throws IOException {
+        buffer.clear();
+        buffer.put(value);
+        buffer.flip();
+        channel.write(buffer);
+    }
+
+    /**
+     * @brief Closes every session.
+     *
+     * @throws IOException If a connection fails to close.
+     */
+    public void close() throws IOException {
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        selector.close();
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.Random;
+
+/**
+ * @brief A self-contained Pong match that can be simulated without a window.
+ *
+ * A match owns its own classic `EntityWorld`, so many matches can run side by side in one JVM.
+ * Each call to `tick` advances the match by exactly one game step, with the same systems the
+ * windowed game uses.
+ */
+public class Match implements ScoreObserver {
+
+    public static final int INPUT_NONE = 0;     /**< @brief No paddle movement. */
+    public static final int INPUT_LEFT = 1;     /**< @brief Move the player paddle left. */
+    public static final int INPUT_RIGHT = 2;    /**< @brief Move the player paddle right. */
+
+    final EntityWorld world;                    /**< @brief Paddles and ball of this match. */
+
+    private int playerScore = 0;                /**< @brief Score of the player. */
+    private int enemyScore = 0;                 /**< @brief Score of the enemy. */
+
+    /**
+     * @brief Constructs a new match whose random events follow the given seed.
+     *
+     * @param seed Seed for launch and bounce angles; equal seeds and inputs give equal matches.
+     */
+    public Match(long seed) {
+        this(new Random(seed));
+    }
+
+    /**
+     * @brief Constructs a new match drawing random events from the given source.
+     *
+     * @param random Source of randomness for launch and bounce angles.
+     */
+    public Match(Random random) {
+        world = EntityWorld.classic(random, SpeedProfile.getDefault());
+        world.addObserver(this);
+    }
+
+    /**
+     * @brief Advances the match by one step.
+     *
+     * @param input One of `INPUT_NONE`, `INPUT_LEFT` or `INPUT_RIGHT`.
+     */
+    public void tick(int input) {
+        world.tick(input);
+    }
+
+    /**
+     * @brief Gets the player's score.
+     *
+     * @return The player's score.
+     */
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    /**
+     * @brief Gets the enemy's score.
+     *
+     * @return The enemy's score.
+     */
+    public int getEnemyScore() {
+        return enemyScore;
+    }
+
+    /**
+     * @brief Gets the number of steps simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTicks() {
+        return world.getTicks();
+    }
+
+    /**
+     * @brief Updates the match score.
+     *
+     * @param playerScore The updated score of the player.
+     * @param enemyScore The updated score of the enemy.
+     */
+    @Override
+    public void updateScore(int playerScore, int enemyScore) {
+        this.playerScore = playerScore;
+        this.enemyScore = enemyScore;
+    }
+}
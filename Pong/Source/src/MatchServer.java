@@ -0,0 +1,501 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @brief Hosts many independent headless matches behind a loopback socket.
+ *
+ * Every accepted connection gets its own `Match`. Sessions are not given a thread each; instead they
+ * are spread over a few shards and a small pool of platform threads ticks every shard at a fixed
+ * rate. All socket I/O is multiplexed on a single selector thread, so the cost of a session is its
+ * match, its channel and a couple of fields.
+ *
+ * Protocol (one byte per command, client to server):
+ * - `N`, `L`, `R`: hold no input, left or right until the next command.
+ * - `Q`: request the latest state. The server answers with `STATE_BYTES` bytes holding four
+ *   big-endian shorts: player score, enemy score, ball x and ball y.
+ *
+ * Replies are never cut: when the socket takes only part of one, the rest is kept in the session and
+ * sent once the channel is writable again, and queries arriving meanwhile get no reply.
+ */
+public class MatchServer implements Runnable, AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7777;        /**< @brief Port used when none is given. */
+    public static final int DEFAULT_TICK_RATE = 30;     /**< @brief Ticks per second of every match. */
+    public static final int STATE_BYTES = 8;            /**< @brief Size of a state reply. */
+    public static final int FOOTPRINT_BUDGET = 2048;    /**< @brief Heap a match may retain, in bytes. */
+
+    static final byte CMD_NONE = 'N';                   /**< @brief Release the paddle. */
+    static final byte CMD_LEFT = 'L';                   /**< @brief Hold the paddle left. */
+    static final byte CMD_RIGHT = 'R';                  /**< @brief Hold the paddle right. */
+    static final byte CMD_QUERY = 'Q';                  /**< @brief Ask for a state reply. */
+
+    private final ServerSocketChannel serverChannel;    /**< @brief Listening channel. */
+    private final Selector selector;                    /**< @brief Selector multiplexing every session. */
+    private final ScheduledExecutorService scheduler;   /**< @brief Pool ticking the shards. */
+    private final Shard[] shards;                       /**< @brief Groups of sessions ticked together. */
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(256);             /**< @brief Shared inbound buffer. */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(STATE_BYTES);    /**< @brief Shared outbound buffer. */
+    private final AtomicInteger sessionCount = new AtomicInteger();             /**< @brief Number of open sessions. */
+    private final Queue<Session> failures = new ConcurrentLinkedQueue<>();      /**< @brief Sessions whose match threw, waiting for the selector to close them. */
+
+    private long nextSeed = 0;                          /**< @brief Seed given to the next match. */
+    private int nextShard = 0;                          /**< @brief Shard receiving the next session. */
+    private volatile boolean running = true;            /**< @brief Cleared when the server is closed. */
+
+    /**
+     * @brief Opens the server on the loopback interface and starts ticking.
+     *
+     * @param port Port to listen on, or 0 for an ephemeral port.
+     * @param threads Number of ticking threads, which is also the number of shards.
+     * @param tickRate Ticks per second of every match.
+     * @throws IOException If the socket cannot be opened.
+     */
+    public MatchServer(int port, int threads, int tickRate) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        selector = Selector.open();
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "match-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = 1000000000L / tickRate;
+        shards = new Shard[threads];
+        for (int i = 0; i < threads; i++) {
+            shards[i] = new Shard(failures, selector);
+            scheduler.scheduleAtFixedRate(shards[i], period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @brief Starts a server from the command line.
+     *
+     * Usage: `MatchServer [port] [threads] [tickRate]` or `MatchServer --footprint [matches]`.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the socket cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--footprint")) {
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+            System.out.println("Heap per match: " + measureSessionFootprint(count) + " bytes (" + count + " matches)");
+            return;
+        }
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int tickRate = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TICK_RATE;
+
+        MatchServer server = new MatchServer(port, threads, tickRate);
+        System.out.println("Match server listening on port " + server.getPort() + " with " + threads + " ticking threads");
+        server.run();
+    }
+
+    /**
+     * @brief Measures the retained heap of a match.
+     *
+     * Allocates `count` matches, forces a collection and divides the growth of the used heap.
+     *
+     * @param count Number of matches to allocate.
+     * @return The average number of bytes retained by one match.
+     */
+    public static long measureSessionFootprint(int count) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        Match[] matches = new Match[count];
+        for (int i = 0; i < count; i++) {
+            matches[i] = new Match(i);
+        }
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        long perMatch = (after - before) / count;
+        matches[0].tick(Match.INPUT_NONE); // keep the array reachable until the measurement is done
+        return perMatch;
+    }
+
+    /**
+     * @brief Gets the port the server is listening on.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @brief Gets the number of open sessions.
+     *
+     * @return The session count.
+     */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * @brief Selector loop accepting connections and reading commands.
+     *
+     * Runs until the server is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                closeFailed();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isWritable()) {
+                        flush(key);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // the server was closed while waiting
+        } catch (IOException e) {
+            if (running) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @brief Accepts pending connections and assigns each one a match and a shard.
+     *
+     * @throws IOException If the listening socket fails.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+
+            Session session = new Session(channel, newMatch(nextSeed++));
+            channel.register(selector, SelectionKey.OP_READ, session);
+            shards[nextShard].pending.add(session);
+            nextShard = (nextShard + 1) % shards.length;
+            sessionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @brief Creates the match of a new session.
+     *
+     * @param seed Seed of the match.
+     * @return The match.
+     */
+    Match newMatch(long seed) {
+        return new Match(seed);
+    }
+
+    /**
+     * @brief Disconnects the sessions whose match threw.
+     *
+     * The shard queues them and wakes the selector, so a client that sends nothing loses its
+     * session right away instead of keeping it until its next command.
+     */
+    private void closeFailed() {
+        Session session;
+        while ((session = failures.poll()) != null) {
+            SelectionKey key = session.channel.keyFor(selector);
+            if (key != null) {
+                disconnect(key, session);
+            }
+        }
+    }
+
+    /**
+     * @brief Reads and applies the commands sent by one session.
+     *
+     * @param key Selection key of the session.
+     */
+    private void read(SelectionKey key) {
+        Session session = (Session) key.attachment();
+        try {
+            readBuffer.clear();
+            int read = session.channel.read(readBuffer);
+            if (read < 0) {
+                disconnect(key, session);
+                return;
+            }
+
+            for (int i = 0; i < read; i++) {
+                byte command = readBuffer.get(i);
+                if (command == CMD_QUERY) {
+                    reply(key, session);
+                } else if (command == CMD_LEFT) {
+                    session.input = Match.INPUT_LEFT;
+                } else if (command == CMD_RIGHT) {
+                    session.input = Match.INPUT_RIGHT;
+                } else if (command == CMD_NONE) {
+                    session.input = Match.INPUT_NONE;
+                }
+            }
+        } catch (IOException e) {
+            disconnect(key, session);
+        }
+    }
+
+    /**
+     * @brief Sends the latest published state of a session.
+     *
+     * While an earlier reply is still partly unsent the query is skipped; the client may simply ask
+     * again. If the socket takes only part of this reply, the rest waits in the session's outbound
+     * buffer for `flush`.
+     *
+     * @param key Selection key of the session.
+     * @param session The session asking for its state.
+     * @throws IOException If the channel fails.
+     */
+    private void reply(SelectionKey key, Session session) throws IOException {
+        if (session.hasUnsent()) {
+            return;
+        }
+        writeBuffer.clear();
+        writeBuffer.putLong(session.state);
+        writeBuffer.flip();
+        if (session.send(session.channel, writeBuffer)) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * @brief Sends the unsent rest of a reply once the channel is writable.
+     *
+     * @param key Selection key of the session.
+     */
+    private void flush(SelectionKey key) {
+        Session session = (Session) key.attachment();
+        try {
+            if (!session.flush(session.channel)) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            disconnect(key, session);
+        }
+    }
+
+    /**
+     * @brief Closes a session and lets its shard drop it on the next tick. Does nothing when called again.
+     *
+     * @param key Selection key of the session.
+     * @param session The session to close.
+     */
+    private void disconnect(SelectionKey key, Session session) {
+        if (session.closed) {
+            return;
+        }
+        key.cancel();
+        session.closed = true;
+        sessionCount.decrementAndGet();
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            // already gone
+        }
+    }
+
+    /**
+     * @brief Stops ticking, closes every session and releases the port.
+     */
+    @Override
+    public void close() {
+        running = false;
+        scheduler.shutdownNow();
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            serverChannel.close();
+        } catch (IOException | ClosedSelectorException e) {
+            // closing anyway
+        }
+    }
+
+    /**
+     * @brief One connected client and its match.
+     */
+    static final class Session {
+
+        final SocketChannel channel;            /**< @brief Connection of the client. */
+        final Match match;                      /**< @brief Match played by the client. */
+        volatile int input = Match.INPUT_NONE;  /**< @brief Input held by the client, written by the selector thread. */
+        volatile long state;                    /**< @brief Packed state published after every tick. */
+        volatile boolean closed = false;        /**< @brief Set once the client disconnects. */
+        volatile boolean failed = false;        /**< @brief Set by the shard when the match threw; the shard stops ticking it. */
+        ByteBuffer outbound;                    /**< @brief Unsent rest of a reply, allocated on the first partial write; selector thread only. */
+
+        /**
+         * @brief Constructs a new session.
+         *
+         * @param channel Connection of the client.
+         * @param match Match played by the client.
+         */
+        Session(SocketChannel channel, Match match) {
+            this.channel = channel;
+            this.match = match;
+            publish();
+        }
+
+        /**
+         * @brief Writes a reply, keeping the part the channel does not take.
+         *
+         * @param out Channel of the client.
+         * @param reply The reply; consumed.
+         * @return True if part of the reply waits for `flush`.
+         * @throws IOException If the channel fails.
+         */
+        boolean send(WritableByteChannel out, ByteBuffer reply) throws IOException {
+            out.write(reply);
+            if (!reply.hasRemaining()) {
+                return false;
+            }
+            if (outbound == null) {
+                outbound = ByteBuffer.allocate(STATE_BYTES);
+            }
+            outbound.clear();
+            outbound.put(reply);
+            outbound.flip();
+            return true;
+        }
+
+        /**
+         * @brief Writes as much as the channel takes of the reply kept by `send`.
+         *
+         * @param out Channel of the client.
+         * @return True if part of the reply still waits.
+         * @throws IOException If the channel fails.
+         */
+        boolean flush(WritableByteChannel out) throws IOException {
+            out.write(outbound);
+            return outbound.hasRemaining();
+        }
+
+        /**
+         * @brief Checks whether part of a reply is still waiting to be sent.
+         *
+         * @return True while `flush` has bytes left to write.
+         */
+        boolean hasUnsent() {
+            return outbound != null && outbound.hasRemaining();
+        }
+
+        /**
+         * @brief Advances the match one tick and publishes the resulting state.
+         */
+        void step() {
+            match.tick(input);
+            publish();
+        }
+
+        /**
+         * @brief Packs scores and ball position into `state` so readers never see a half update.
+         */
+        private void publish() {
+            EntityStore s = match.world.store;
+            state = ((long) (match.getPlayerScore() & 0xFFFF) << 48)
+                    | ((long) (match.getEnemyScore() & 0xFFFF) << 32)
+                    | ((long) ((int) s.x[EntityWorld.BALL] & 0xFFFF) << 16)
+                    | ((int) s.y[EntityWorld.BALL] & 0xFFFF);
+        }
+    }
+
+    /**
+     * @brief A group of sessions ticked by one task of the pool.
+     *
+     * New sessions arrive through a concurrent queue; the session list itself is only touched by the
+     * ticking thread. A match that throws is reported, dropped and handed to the selector thread to
+     * close its connection; letting the exception escape would make the pool cancel the shard and
+     * silently stop every match in it.
+     */
+    static final class Shard implements Runnable {
+
+        final Queue<Session> pending = new ConcurrentLinkedQueue<>();  /**< @brief Sessions waiting to join. */
+        private final List<Session> sessions = new ArrayList<>();      /**< @brief Sessions ticked by this shard. */
+        private final Queue<Session> failures;                         /**< @brief Where failed sessions are sent to be closed. */
+        private final Selector selector;                               /**< @brief Selector woken when a session fails. */
+
+        /**
+         * @brief Constructs a new shard.
+         *
+         * @param failures Queue receiving the sessions whose match threw.
+         * @param selector Selector to wake so it closes them.
+         */
+        Shard(Queue<Session> failures, Selector selector) {
+            this.failures = failures;
+            this.selector = selector;
+        }
+
+        /**
+         * @brief Ticks every live session once and drops the closed ones.
+         */
+        @Override
+        public void run() {
+            Session joining;
+            while ((joining = pending.poll()) != null) {
+                sessions.add(joining);
+            }
+
+            int i = 0;
+            while (i < sessions.size()) {
+                Session session = sessions.get(i);
+                if (session.closed || session.failed) {
+                    int last = sessions.size() - 1;
+                    sessions.set(i, sessions.get(last));
+                    sessions.remove(last);
+                    continue;
+                }
+                try {
+                    session.step();
+                } catch (RuntimeException e) {
+                    System.err.println("Dropping match after error: " + e);
+                    e.printStackTrace();
+                    session.failed = true;
+                    failures.add(session);
+                    selector.wakeup();
+                    continue;
+                }
+                i++;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * @brief Represents a maximum speed strategy.
+ * 
+ * This strategy returns a maximum speed value.
+ */
+class MaxSpeedStrategy implements SpeedStrategy {
+    /**
+     * @brief Retrieves the maximum speed value.
+     * 
+     * @return The maximum speed value, which is 1.3.
+     */
+    @Override
+    public double getSpeed() {
+        return 1.3;
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * @brief Fixed-capacity pool of short-lived particles drawn straight into a pixel array.
+ *
+ * Every particle is an index into preallocated primitive arrays, so emitting, updating and drawing
+ * never allocate; a particle that dies is replaced by the last live one. Emission is scaled by a
+ * density between `MIN_DENSITY` and 1 that `adapt` lowers when measured frame times exceed the
+ * budget and raises again when they are back under it, so a loaded machine shows fewer particles
+ * instead of dropping frames.
+ */
+public class ParticleSystem {
+
+    public static final float MIN_DENSITY = 0.05f;     /**< @brief Lowest fraction of requested particles still emitted. */
+    private static final float DECREASE = 0.75f;        /**< @brief Factor applied to the density after an over-budget frame. */
+    private static final float INCREASE = 0.02f;        /**< @brief Density added after a frame well under budget. */
+    private static final float HEADROOM = 0.7f;         /**< @brief Fraction of the budget a frame must stay under to raise the density. */
+
+    private final float[] x;                    /**< @brief X-coordinate of each particle. */
+    private final float[] y;                    /**< @brief Y-coordinate of each particle. */
+    private final float[] vx;                   /**< @brief Per-frame displacement in x. */
+    private final float[] vy;                   /**< @brief Per-frame displacement in y. */
+    private final int[] life;                   /**< @brief Frames left before the particle dies. */
+    private final int[] maxLife;                /**< @brief Lifetime the particle started with. */
+    private final int[] color;                  /**< @brief RGB color at full brightness. */
+    private int count = 0;                      /**< @brief Number of live particles, stored at indices 0..count-1. */
+    private float density = 1f;                 /**< @brief Fraction of requested particles actually emitted. */
+    private float maxDensity = 1f;              /**< @brief Highest density `adapt` may raise to. */
+    private float carry = 0f;                   /**< @brief Fractional particles owed by earlier scaled emissions. */
+    private int seed;                           /**< @brief State of the xorshift generator. */
+
+    /**
+     * @brief Constructs an empty pool.
+     *
+     * @param capacity Maximum number of live particles.
+     * @param seed Seed of the directions and lifetimes; any value but 0.
+     */
+    public ParticleSystem(int capacity, int seed) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new int[capacity];
+        maxLife = new int[capacity];
+        color = new int[capacity];
+        this.seed = seed == 0 ? 1 : seed;
+    }
+
+    /**
+     * @brief Measures update and draw cost with thousands of live particles from the command line.
+     *
+     * Usage: `ParticleSystem [particles] [frames]`.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        ParticleSystem system = new ParticleSystem(particles, 42);
+        int[] pixels = new int[Game.WIDTH * Game.HEIGHT];
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int f = 0; f < frames; f++) {
+                system.burst(Game.WIDTH / 2f, Game.HEIGHT / 2f, particles - system.size(), 1.5f, 0xFFFF00, 60);
+                system.update();
+                system.draw(pixels, Game.WIDTH, Game.HEIGHT);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d particles: %.1f us per frame%n", system.size(), elapsed / 1000.0 / frames);
+        }
+    }
+
+    /**
+     * @brief Emits particles from a point in random directions, scaled by the current density.
+     *
+     * @param px X-coordinate of the origin.
+     * @param py Y-coordinate of the origin.
+     * @param requested Number of particles at full density.
+     * @param speed Largest per-frame speed of a particle.
+     * @param rgb Color of the particles.
+     * @param lifetime Largest lifetime in frames.
+     * @return Number of particles emitted.
+     */
+    public int burst(float px, float py, int requested, float speed, int rgb, int lifetime) {
+        carry += requested * density;
+        int n = Math.min((int) carry, x.length - count);
+        carry -= (int) carry;
+
+        for (int k = 0; k < n; k++) {
+            int i = count++;
+            float dirX = nextFloat() * 2 - 1;
+            float dirY = nextFloat() * 2 - 1;
+            float s = speed * nextFloat();
+            x[i] = px;
+            y[i] = py;
+            vx[i] = dirX * s;
+            vy[i] = dirY * s;
+            maxLife[i] = life[i] = lifetime / 2 + (int) (nextFloat() * (lifetime / 2 + 1));
+            color[i] = rgb;
+        }
+        return n;
+    }
+
+    /**
+     * @brief Moves every particle one frame and removes the ones whose lifetime ended.
+     */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            if (--life[i] <= 0) {
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                maxLife[i] = maxLife[last];
+                color[i] = color[last];
+                continue;
+            }
+            x[i] += vx[i];
+            y[i] += vy[i];
+            i++;
+        }
+    }
+
+    /**
+     * @brief Draws every particle as one pixel, fading with its remaining life.
+     *
+     * Each channel keeps the brighter of the particle and what is already drawn, so particles never
+     * darken the field.
+     *
+     * @param pixels RGB pixels of the frame, row by row.
+     * @param width Width of the frame.
+     * @param height Height of the frame.
+     */
+    public void draw(int[] pixels, int width, int height) {
+        for (int i = 0; i < count; i++) {
+            int px = (int) x[i];
+            int py = (int) y[i];
+            if (px < 0 || py < 0 || px >= width || py >= height) {
+                continue;
+            }
+
+            int fade = life[i] * 256 / maxLife[i];
+            int rgb = color[i];
+            int r = ((rgb >> 16) & 0xFF) * fade >> 8;
+            int g = ((rgb >> 8) & 0xFF) * fade >> 8;
+            int b = (rgb & 0xFF) * fade >> 8;
+
+            int index = py * width + px;
+            int under = pixels[index];
+            r = Math.max(r, (under >> 16) & 0xFF);
+            g = Math.max(g, (under >> 8) & 0xFF);
+            b = Math.max(b, under & 0xFF);
+            pixels[index] = (r << 16) | (g << 8) | b;
+        }
+    }
+
+    /**
+     * @brief Adjusts the density from the cost of the last frame.
+     *
+     * @param frameNanos Time the last frame took to draw, without presenting it.
+     * @param budgetNanos Time a frame may take.
+     */
+    public void adapt(long frameNanos, long budgetNanos) {
+        if (frameNanos > budgetNanos) {
+            density = Math.max(MIN_DENSITY, density * DECREASE);
+        } else if (frameNanos < budgetNanos * HEADROOM) {
+            density = Math.min(maxDensity, density + INCREASE);
+        }
+    }
+
+    /**
+     * @brief Caps the density, lowering it at once if it is above the cap.
+     *
+     * @param cap Highest density, between `MIN_DENSITY` and 1.
+     */
+    public void setMaxDensity(float cap) {
+        maxDensity = Math.max(MIN_DENSITY, Math.min(1f, cap));
+        density = Math.min(density, maxDensity);
+    }
+
+    /**
+     * @brief Removes every particle.
+     */
+    public void clear() {
+        count = 0;
+        carry = 0;
+    }
+
+    /**
+     * @brief Gets the number of live particles.
+     *
+     * @return The particle count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @brief Gets the maximum number of live particles.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return x.length;
+    }
+
+    /**
+     * @brief Gets the fraction of requested particles currently emitted.
+     *
+     * @return The density, between `MIN_DENSITY` and 1.
+     */
+    public float getDensity() {
+        return density;
+    }
+
+    /**
+     * @brief Draws a uniform number from the xorshift generator.
+     *
+     * @return A number in [0, 1).
+     */
+    private float nextFloat() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return (seed >>> 8) * (1f / (1 << 24));
+    }
+}
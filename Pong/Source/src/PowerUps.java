@@ -0,0 +1,392 @@
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @brief Pickups that appear on an `EntityWorld` and apply timed modifiers when a ball hits them.
+ *
+ * Pickups and active effects are objects from fixed pools, and every deadline (next spawn, pickup
+ * disappearing, effect ending) is a timer in one `TimerWheel`. A tick only expires the timers due
+ * in it and checks the live pickups against the balls, so its cost does not depend on how many
+ * effects are active, and nothing is allocated while playing.
+ *
+ * Effects of the same kind on the same target do not compound: the modifier is applied when the
+ * first one starts and removed when the last one ends.
+ *
+ * The window game runs them on its field unless the `powerUps` setting is off; the pickups are
+ * copied into each `StateFrame` and drawn with the entities.
+ *
+ * - `WIDE_PADDLE`: the paddle the ball came from gets `WIDE_EXTRA` pixels wider.
+ * - `BALL_SPEED`: every ball moves `SPEED_FACTOR` times faster.
+ * - `SPLIT`: the ball splits in two, immediately; the extra ball leaves at its next point.
+ * - `AI_SLOWDOWN`: tracking paddles follow the ball at `SLOWDOWN_FACTOR` of their factor, through
+ *   `EntityWorld.setTrackingScale`, so a new difficulty does not cancel it.
+ */
+public class PowerUps {
+
+    public static final int WIDE_PADDLE = 0;        /**< @brief Widens a paddle. */
+    public static final int BALL_SPEED = 1;         /**< @brief Speeds every ball up. */
+    public static final int SPLIT = 2;              /**< @brief Adds a ball. */
+    public static final int AI_SLOWDOWN = 3;        /**< @brief Makes tracking paddles lag behind. */
+    private static final int TYPES = 4;             /**< @brief Number of pickup types. */
+
+    public static final int PICKUP_SIZE = 6;        /**< @brief Width and height of a pickup. */
+    public static final int WIDE_EXTRA = 20;        /**< @brief Pixels added to a widened paddle. */
+    public static final double SPEED_FACTOR = 1.5;  /**< @brief Ball speed factor of `BALL_SPEED`. */
+    public static final double SLOWDOWN_FACTOR = 0.5; /**< @brief Tracking factor scale of `AI_SLOWDOWN`. */
+    private static final int MAX_BALLS = 8;         /**< @brief Balls beyond which `SPLIT` does nothing. */
+    private static final Color[] COLORS = {Color.CYAN, Color.ORANGE, Color.MAGENTA, Color.GREEN}; /**< @brief Color of each pickup type. */
+
+    /**
+     * @brief A pickup lying on the field; its timer makes it disappear.
+     */
+    static class Pickup extends TimerWheel.Timer {
+        int type;                               /**< @brief One of the pickup type constants. */
+        int x;                                  /**< @brief X-coordinate. */
+        int y;                                  /**< @brief Y-coordinate. */
+        int index;                              /**< @brief Position in the live pickup array. */
+    }
+
+    /**
+     * @brief An active modifier; its timer ends it.
+     */
+    static class Effect extends TimerWheel.Timer {
+        int type;                               /**< @brief One of the pickup type constants. */
+        int target;                             /**< @brief Entity index of a widened paddle. */
+    }
+
+    private final EntityWorld world;            /**< @brief Field the pickups appear on. */
+    private final Random random;                /**< @brief Source of randomness for spawns. */
+    private final TimerWheel wheel = new TimerWheel(1024); /**< @brief Every pending deadline. */
+    private final TimerWheel.Timer spawnTimer = new TimerWheel.Timer(); /**< @brief Deadline of the next spawn. */
+
+    private final Pickup[] live;                /**< @brief Pickups on the field, at indices 0..liveCount-1. */
+    private int liveCount = 0;                  /**< @brief Number of pickups on the field. */
+    private final Pickup[] freePickups;         /**< @brief Pickups ready for reuse. */
+    private int freePickupCount;                /**< @brief Number of pickups ready for reuse. */
+    private final Effect[] freeEffects;         /**< @brief Effects ready for reuse. */
+    private int freeEffectCount;                /**< @brief Number of effects ready for reuse. */
+
+    private final int[] active = new int[TYPES]; /**< @brief Active effects of each type. */
+    private int[] wideCount;                    /**< @brief Active `WIDE_PADDLE` effects on each entity, grown with the store. */
+
+    private int spawnInterval = 600;            /**< @brief Ticks between two spawns. */
+    private int pickupLifetime = 1200;          /**< @brief Ticks a pickup stays on the field. */
+    private int effectDuration = 900;           /**< @brief Ticks an effect lasts. */
+
+    /**
+     * @brief Constructs the power-ups of a field.
+     *
+     * @param world The field.
+     * @param random Source of randomness for spawns.
+     * @param maxPickups Most pickups on the field at once.
+     * @param maxEffects Most effects active at once; further pickups are wasted.
+     */
+    public PowerUps(EntityWorld world, Random random, int maxPickups, int maxEffects) {
+        this.world = world;
+        this.random = random;
+        live = new Pickup[maxPickups];
+        freePickups = new Pickup[maxPickups];
+        for (int i = 0; i < maxPickups; i++) {
+            freePickups[freePickupCount++] = new Pickup();
+        }
+        freeEffects = new Effect[maxEffects];
+        for (int i = 0; i < maxEffects; i++) {
+            freeEffects[freeEffectCount++] = new Effect();
+        }
+        wideCount = new int[world.store.x.length];
+        wheel.schedule(spawnTimer, spawnInterval);
+    }
+
+    /**
+     * @brief Sets the timings, in ticks, taking effect from the next schedule.
+     *
+     * @param spawnInterval Ticks between two spawns.
+     * @param pickupLifetime Ticks a pickup stays on the field.
+     * @param effectDuration Ticks an effect lasts.
+     */
+    public void setTimings(int spawnInterval, int pickupLifetime, int effectDuration) {
+        this.spawnInterval = spawnInterval;
+        this.pickupLifetime = pickupLifetime;
+        this.effectDuration = effectDuration;
+        wheel.schedule(spawnTimer, spawnInterval);
+    }
+
+    /**
+     * @brief Advances the power-ups by one step; call after `EntityWorld.tick`.
+     */
+    public void tick() {
+        TimerWheel.Timer timer = wheel.advance();
+        while (timer != null) {
+            TimerWheel.Timer next = timer.nextExpired();
+            if (timer == spawnTimer) {
+                spawn();
+                wheel.schedule(spawnTimer, spawnInterval);
+            } else if (timer instanceof Pickup) {
+                removePickup((Pickup) timer);
+            } else {
+                end((Effect) timer);
+            }
+            timer = next;
+        }
+
+        collect();
+    }
+
+    /**
+     * @brief Places a pickup of a random type in the middle band of the field.
+     *
+     * @return True if a pickup was placed, false if the pool is empty.
+     */
+    public boolean spawn() {
+        if (freePickupCount == 0) {
+            return false;
+        }
+        int type = random.nextInt(TYPES);
+        int x = 10 + random.nextInt(Game.WIDTH - 20 - PICKUP_SIZE);
+        int y = Game.HEIGHT / 4 + random.nextInt(Game.HEIGHT / 2 - PICKUP_SIZE);
+        return place(type, x, y);
+    }
+
+    /**
+     * @brief Places a pickup of the given type.
+     *
+     * @param type One of the pickup type constants.
+     * @param x X-coordinate.
+     * @param y Y-coordinate.
+     * @return True if a pickup was placed, false if the pool is empty.
+     */
+    public boolean place(int type, int x, int y) {
+        if (freePickupCount == 0) {
+            return false;
+        }
+        Pickup pickup = freePickups[--freePickupCount];
+        pickup.type = type;
+        pickup.x = x;
+        pickup.y = y;
+        pickup.index = liveCount;
+        live[liveCount++] = pickup;
+        wheel.schedule(pickup, pickupLifetime);
+        return true;
+    }
+
+    /**
+     * @brief Applies the pickups any ball overlaps.
+     */
+    private void collect() {
+        EntityStore s = world.store;
+        for (int p = 0; p < liveCount; p++) {
+            Pickup pickup = live[p];
+            for (int b = 0; b < s.count; b++) {
+                if (s.kind[b] != EntityStore.KIND_BALL) {
+                    continue;
+                }
+                int bx = (int) s.x[b];
+                int by = (int) s.y[b];
+                if (bx < pickup.x + PICKUP_SIZE && pickup.x < bx + s.width[b] && by < pickup.y + PICKUP_SIZE && pickup.y < by + s.height[b]) {
+                    apply(pickup.type, b);
+                    wheel.cancel(pickup);
+                    removePickup(pickup);
+                    p--;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Applies a pickup collected by a ball.
+     *
+     * @param type One of the pickup type constants.
+     * @param b Index of the ball that collected it.
+     */
+    void apply(int type, int b) {
+        if (type == SPLIT) {
+            if (world.ballCount() < MAX_BALLS) {
+                world.splitBall(b);
+            }
+        } else if (type == WIDE_PADDLE) {
+            int paddle = paddleBehind(b);
+            if (paddle >= 0) {
+                activate(WIDE_PADDLE, paddle, effectDuration);
+            }
+        } else {
+            activate(type, -1, effectDuration);
+        }
+    }
+
+    /**
+     * @brief Starts a timed effect.
+     *
+     * @param type `WIDE_PADDLE`, `BALL_SPEED` or `AI_SLOWDOWN`.
+     * @param target Entity index of the paddle to widen, ignored by the other types.
+     * @param duration Ticks the effect lasts.
+     * @return True if the effect started, false if the pool is empty.
+     */
+    public boolean activate(int type, int target, int duration) {
+        if (freeEffectCount == 0) {
+            return false;
+        }
+        Effect effect = freeEffects[--freeEffectCount];
+        effect.type = type;
+        effect.target = target;
+
+        EntityStore s = world.store;
+        if (type == WIDE_PADDLE) {
+            if (target >= wideCount.length) {
+                wideCount = Arrays.copyOf(wideCount, s.x.length);
+            }
+            if (wideCount[target]++ == 0) {
+                s.width[target] += WIDE_EXTRA;
+                s.x[target] = Math.min(s.x[target], Game.WIDTH - s.width[target]);
+            }
+        } else if (active[type] == 0) {
+            if (type == BALL_SPEED) {
+                world.setSpeedScale(SPEED_FACTOR);
+            } else {
+                world.setTrackingScale(SLOWDOWN_FACTOR);
+            }
+        }
+        active[type]++;
+        wheel.schedule(effect, duration);
+        return true;
+    }
+
+    /**
+     * @brief Ends an effect and returns it to the pool.
+     *
+     * @param effect The effect.
+     */
+    private void end(Effect effect) {
+        int type = effect.type;
+        active[type]--;
+        if (type == WIDE_PADDLE) {
+            if (--wideCount[effect.target] == 0) {
+                world.store.width[effect.target] -= WIDE_EXTRA;
+            }
+        } else if (active[type] == 0) {
+            if (type == BALL_SPEED) {
+                world.setSpeedScale(1.0);
+            } else {
+                world.setTrackingScale(1.0);
+            }
+        }
+        freeEffects[freeEffectCount++] = effect;
+    }
+
+    /**
+     * @brief Takes a pickup off the field and returns it to the pool.
+     *
+     * @param pickup The pickup.
+     */
+    private void removePickup(Pickup pickup) {
+        Pickup last = live[--liveCount];
+        live[pickup.index] = last;
+        last.index = pickup.index;
+        live[liveCount] = null;
+        freePickups[freePickupCount++] = pickup;
+    }
+
+    /**
+     * @brief Finds the paddle a ball is moving away from.
+     *
+     * @param b Index of the ball.
+     * @return Entity index of the closest paddle on that side, or -1 if none.
+     */
+    private int paddleBehind(int b) {
+        EntityStore s = world.store;
+        boolean fromTop = s.vy[b] > 0;
+        int best = -1;
+        double distance = Double.MAX_VALUE;
+        for (int i = 0; i < s.count; i++) {
+            if (s.kind[i] != EntityStore.KIND_PADDLE || (s.y[i] < Game.HEIGHT / 2) != fromTop) {
+                continue;
+            }
+            double d = Math.abs(s.x[i] + s.width[i] / 2.0 - s.x[b]);
+            if (d < distance) {
+                distance = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Gets the pixels a `WIDE_PADDLE` effect currently adds to an entity.
+     *
+     * Resizing a widened paddle must add them, so the effect still ends at the new size.
+     *
+     * @param i Entity index.
+     * @return `WIDE_EXTRA` while the entity is widened, 0 otherwise.
+     */
+    public int extraWidth(int i) {
+        return i < wideCount.length && wideCount[i] > 0 ? WIDE_EXTRA : 0;
+    }
+
+    /**
+     * @brief Gets the x-coordinate of a pickup on the field.
+     *
+     * @param p Index of the pickup, below `pickupCount()`.
+     * @return The x-coordinate.
+     */
+    public int pickupX(int p) {
+        return live[p].x;
+    }
+
+    /**
+     * @brief Gets the y-coordinate of a pickup on the field.
+     *
+     * @param p Index of the pickup, below `pickupCount()`.
+     * @return The y-coordinate.
+     */
+    public int pickupY(int p) {
+        return live[p].y;
+    }
+
+    /**
+     * @brief Gets the color a pickup on the field is drawn in.
+     *
+     * @param p Index of the pickup, below `pickupCount()`.
+     * @return The color of its type.
+     */
+    public Color pickupColor(int p) {
+        return COLORS[live[p].type];
+    }
+
+    /**
+     * @brief Gets the number of pickups on the field.
+     *
+     * @return The pickup count.
+     */
+    public int pickupCount() {
+        return liveCount;
+    }
+
+    /**
+     * @brief Gets the number of active effects of a type.
+     *
+     * @param type One of the pickup type constants.
+     * @return The effect count.
+     */
+    public int activeCount(int type) {
+        return active[type];
+    }
+
+    /**
+     * @brief Gets the number of pending deadlines, including the next spawn.
+     *
+     * @return The timer count.
+     */
+    public int pendingTimers() {
+        return wheel.size();
+    }
+
+    /**
+     * @brief Gets the number of deadlines looked at by all ticks so far.
+     *
+     * @return The visit count of the timer wheel.
+     */
+    public long visitedTimers() {
+        return wheel.getVisited();
+    }
+}
@@ -0,0 +1,355 @@
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @brief Headless harness checking what the game draws and how fast it draws it.
+ *
+ * Plays a seeded game with seeded inputs and composes every frame as the window would, particle
+ * effects included, into the off-screen image. Each frame is reduced to a 64-bit hash, so a run of
+ * thousands of frames can be compared with a stored golden sequence. The same run reports frames
+ * per second and bytes allocated per frame, for gameplay frames and for pause menu frames.
+ *
+ * Text is drawn with the platform fonts, which differ between machines. A golden sequence records
+ * a hash of sample text drawn with the fonts it was made with; it only applies where that hash
+ * matches.
+ */
+public class RenderHarness {
+
+    public static final long DEFAULT_SEED = 1;      /**< @brief Seed of the golden sequences. */
+    public static final Path GOLDEN_FILE = Paths.get("Test", "golden", "render-frames.txt"); /**< @brief Golden sequences, relative to the project. */
+    private static final int MAX_HOLD = 90;         /**< @brief Longest random hold of an input, in ticks. */
+    private static final int MENU_EVERY = 20;       /**< @brief Frames between two moves of the menu selection. */
+
+    private final Game game = new Game();           /**< @brief The game being drawn. */
+    private final int[] pixels;                     /**< @brief Pixels of the game's off-screen image. */
+    private final Random inputs;                    /**< @brief Source of the player's inputs. */
+    private final int ticksPerFrame;                /**< @brief Game ticks between two frames. */
+    private int hold = 0;                           /**< @brief Ticks left on the current input. */
+
+    /**
+     * @brief Starts a seeded game.
+     *
+     * @param seed Seed of the ball and of the inputs.
+     */
+    public RenderHarness(long seed) {
+        game.start(new Random(seed));
+        inputs = new Random(~seed);
+        GameConfig config = GameConfig.defaults();
+        ticksPerFrame = Math.max(1, config.tickRate / config.frameRate);
+        pixels = ((DataBufferInt) game.composeFrame().getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * @brief Runs the harness from the command line.
+     *
+     * Usage: `RenderHarness [gameplayFrames] [pauseFrames]` compares with `GOLDEN_FILE`, and
+     * `RenderHarness --record [gameplayFrames] [pauseFrames]` writes it again.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the golden file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean record = args.length > 0 && args[0].equals("--record");
+        int first = record ? 1 : 0;
+        int gameplayFrames = args.length > first ? Integer.parseInt(args[first]) : 2000;
+        int pauseFrames = args.length > first + 1 ? Integer.parseInt(args[first + 1]) : 200;
+
+        RenderHarness harness = new RenderHarness(DEFAULT_SEED);
+        Run gameplay = harness.play(gameplayFrames);
+        Run pause = harness.pause(pauseFrames);
+        System.out.println("Gameplay: " + gameplay);
+        System.out.println("Pause:    " + pause);
+
+        if (record) {
+            writeGolden(GOLDEN_FILE, gameplay.hashes, pause.hashes);
+            System.out.println("Recorded " + GOLDEN_FILE);
+            return;
+        }
+
+        Golden golden = Golden.read(GOLDEN_FILE);
+        if (golden.fonts != fontKey()) {
+            System.out.println("Golden sequences were recorded with other fonts; not compared");
+            return;
+        }
+        int gameplayMismatch = firstMismatch(golden.gameplay, gameplay.hashes);
+        int pauseMismatch = firstMismatch(golden.pause, pause.hashes);
+        System.out.println("Gameplay frames " + (gameplayMismatch < 0 ? "match" : "differ from frame " + gameplayMismatch));
+        System.out.println("Pause frames " + (pauseMismatch < 0 ? "match" : "differ from frame " + pauseMismatch));
+        if (gameplayMismatch >= 0 || pauseMismatch >= 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @brief Plays and composes gameplay frames.
+     *
+     * The player holds random inputs for random lengths, drawn from the harness seed.
+     *
+     * @param frames Number of frames.
+     * @return The hashes and timings of the frames.
+     */
+    public Run play(int frames) {
+        game.isPaused = false;
+        Run run = new Run(frames);
+        run.begin();
+        for (int i = 0; i < frames; i++) {
+            for (int t = 0; t < ticksPerFrame; t++) {
+                if (hold-- == 0) {
+                    int input = inputs.nextInt(3);
+                    game.leftPressedPlayer = input == 1;
+                    game.rightPressedPlayer = input == 2;
+                    hold = inputs.nextInt(MAX_HOLD);
+                }
+                game.tick();
+            }
+            game.composeFrame();
+            run.hashes[i] = hash(pixels);
+        }
+        run.end();
+        return run;
+    }
+
+    /**
+     * @brief Composes pause menu frames, moving the selection down now and then.
+     *
+     * @param frames Number of frames.
+     * @return The hashes and timings of the frames.
+     */
+    public Run pause(int frames) {
+        game.isPaused = true;
+        KeyEvent down = new KeyEvent(game, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED);
+        Run run = new Run(frames);
+        run.begin();
+        for (int i = 0; i < frames; i++) {
+            if (i % MENU_EVERY == MENU_EVERY - 1) {
+                game.keyPressed(down);
+            }
+            game.composeFrame();
+            run.hashes[i] = hash(pixels);
+        }
+        run.end();
+        game.isPaused = false;
+        return run;
+    }
+
+    /**
+     * @brief Hashes a raster into 64 bits.
+     *
+     * A multiply and xor-shift per pixel, with a final mix; only the colour bits count.
+     *
+     * @param pixels The pixels.
+     * @return The hash.
+     */
+    public static long hash(int[] pixels) {
+        long h = 0x9E3779B97F4A7C15L ^ pixels.length;
+        for (int p : pixels) {
+            h = (h ^ (p & 0xFFFFFF)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        h *= 0x94D049BB133111EBL;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * @brief Hashes sample text drawn with the fonts the game uses.
+     *
+     * @return A hash equal on machines whose fonts draw the game's text alike.
+     */
+    public static long fontKey() {
+        BufferedImage image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        g.drawString("0123456789 x1/2 STEP", 2, 20);
+        g.setFont(new Font("Arial", Font.BOLD, 16));
+        g.drawString("Resume Reset Exit", 2, 60);
+        g.dispose();
+        return hash(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+    }
+
+    /**
+     * @brief Finds the first frame whose hash differs from the golden one.
+     *
+     * @param golden The golden hashes.
+     * @param actual The hashes of a run.
+     * @return Index of the first differing frame, or -1 if all match. A run of another length
+     *         differs at the end of the shorter one.
+     */
+    public static int firstMismatch(long[] golden, long[] actual) {
+        int n = Math.min(golden.length, actual.length);
+        for (int i = 0; i < n; i++) {
+            if (golden[i] != actual[i]) {
+                return i;
+            }
+        }
+        return golden.length == actual.length ? -1 : n;
+    }
+
+    /**
+     * @brief Writes golden sequences with the key of the current fonts.
+     *
+     * @param file The file to write.
+     * @param gameplay Hashes of the gameplay frames.
+     * @param pause Hashes of the pause menu frames.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeGolden(Path file, long[] gameplay, long[] pause) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Frame hashes of RenderHarness with seed " + DEFAULT_SEED + "; rewrite with `RenderHarness --record`");
+        lines.add("fonts " + Long.toHexString(fontKey()));
+        for (long h : gameplay) {
+            lines.add("gameplay " + Long.toHexString(h));
+        }
+        for (long h : pause) {
+            lines.add("pause " + Long.toHexString(h));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @brief Golden sequences read from a file.
+     */
+    static class Golden {
+
+        long fonts;                                 /**< @brief Font key the sequences were recorded with. */
+        long[] gameplay;                            /**< @brief Hashes of the gameplay frames. */
+        long[] pause;                               /**< @brief Hashes of the pause menu frames. */
+
+        /**
+         * @brief Reads golden sequences.
+         *
+         * @param file The file written by `writeGolden`.
+         * @return The sequences.
+         * @throws IOException If the file cannot be read.
+         * @throws IllegalArgumentException If a line is malformed.
+         */
+        static Golden read(Path file) throws IOException {
+            List<Long> gameplay = new ArrayList<>();
+            List<Long> pause = new ArrayList<>();
+            Golden golden = new Golden();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(" ");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid golden line: " + line);
+                }
+                long value = Long.parseUnsignedLong(parts[1], 16);
+                if (parts[0].equals("fonts")) {
+                    golden.fonts = value;
+                } else if (parts[0].equals("gameplay")) {
+                    gameplay.add(value);
+                } else if (parts[0].equals("pause")) {
+                    pause.add(value);
+                } else {
+                    throw new IllegalArgumentException("Invalid golden line: " + line);
+                }
+            }
+            golden.gameplay = gameplay.stream().mapToLong(Long::longValue).toArray();
+            golden.pause = pause.stream().mapToLong(Long::longValue).toArray();
+            return golden;
+        }
+    }
+
+    /**
+     * @brief Hashes and timings of a sequence of frames.
+     */
+    public static class Run {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean(); /**< @brief Source of allocation counts. */
+
+        final long[] hashes;                        /**< @brief Hash of every frame. */
+        long nanos;                                 /**< @brief Time taken by the whole sequence. */
+        long allocated;                             /**< @brief Bytes allocated by the sequence, or -1 if unknown. */
+        private long startNanos;                    /**< @brief Time the sequence began. */
+        private long startAllocated;                /**< @brief Allocated bytes of this thread when the sequence began. */
+
+        /**
+         * @brief Constructs an empty run.
+         *
+         * @param frames Number of frames.
+         */
+        Run(int frames) {
+            hashes = new long[frames];
+        }
+
+        /**
+         * @brief Marks the start of the sequence.
+         */
+        void begin() {
+            startAllocated = allocated();
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * @brief Marks the end of the sequence.
+         */
+        void end() {
+            nanos = System.nanoTime() - startNanos;
+            long now = allocated();
+            allocated = now < 0 ? -1 : now - startAllocated;
+        }
+
+        /**
+         * @brief Gets the hash of every frame.
+         *
+         * @return The hashes.
+         */
+        public long[] getHashes() {
+            return hashes;
+        }
+
+        /**
+         * @brief Gets the frames composed per second, ticks included.
+         *
+         * @return The frame rate.
+         */
+        public double getFramesPerSecond() {
+            return hashes.length / (Math.max(1, nanos) / 1e9);
+        }
+
+        /**
+         * @brief Gets the bytes allocated per frame.
+         *
+         * @return The average, or -1 if the JVM does not report allocations.
+         */
+        public double getBytesPerFrame() {
+            return allocated < 0 ? -1 : (double) allocated / Math.max(1, hashes.length);
+        }
+
+        /**
+         * @brief Describes the run.
+         *
+         * @return Frame count, frame rate and allocation.
+         */
+        @Override
+        public String toString() {
+            return String.format("%d frames, %.0f frames/s, %.0f bytes/frame", hashes.length, getFramesPerSecond(), getBytesPerFrame());
+        }
+
+        /**
+         * @brief Gets the bytes allocated by the current thread, if the JVM reports it.
+         *
+         * @return The byte count, or -1.
+         */
+        private static long allocated() {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return -1;
+        }
+    }
+}
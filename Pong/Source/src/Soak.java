@@ -0,0 +1,553 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * @brief Headless soak run of the real ball and paddle logic under random inputs.
+ *
+ * Plays back-to-back episodes of `EPISODE_TICKS` steps, each a fresh `Match` with its own seed
+ * and randomly held inputs, and checks after every step that:
+ * - both paddles are inside the field;
+ * - scores never go down and rise by at most one point per step;
+ * - the ball never overlaps a paddle while still heading into it for more than one step. A hit
+ *   only turns the ball around, so a contact overlaps the paddle for a few steps while the ball
+ *   leaves it; the longest contact is reported instead.
+ *
+ * Throughput, allocation rate and collector activity are printed at intervals. On a violation,
+ * the inputs of the episode are cut at the failing step and simplified while it still fails, and
+ * the episode seed and inputs are written to a file that `Soak --replay` runs again.
+ */
+public class Soak {
+
+    public static final int EPISODE_TICKS = 20000;          /**< @brief Steps per episode. */
+    private static final int MAX_HOLD = 60;                 /**< @brief Longest random hold of an input, in steps. */
+    private static final int CLOCK_EVERY = 4096;            /**< @brief Steps between two reads of the clock. */
+    private static final char[] INPUT_CODES = {'N', 'L', 'R'};  /**< @brief Letter of each `Match` input in logs. */
+
+    private final Random seeds;                             /**< @brief Source of episode seeds. */
+    private final InputLog log = new InputLog();            /**< @brief Inputs of the current episode. */
+    private final Checker checker = new Checker();          /**< @brief Invariants of the current episode. */
+    private long ticks = 0;                                 /**< @brief Steps run so far. */
+    private int longestContact = 0;                         /**< @brief Longest ball-paddle overlap seen, in steps. */
+    private long failedSeed;                                /**< @brief Seed of the failing episode. */
+    private InputLog failedInputs;                          /**< @brief Simplified inputs of the failing episode, or null. */
+    private String violation;                               /**< @brief Description of the violation, or null. */
+
+    /**
+     * @brief Constructs a soak run.
+     *
+     * @param seed Seed of the episode seeds; equal seeds give equal runs.
+     */
+    public Soak(long seed) {
+        seeds = new Random(seed);
+    }
+
+    /**
+     * @brief Runs a soak from the command line.
+     *
+     * Usage: `Soak [ticks] [seed] [reportSeconds]` or `Soak --replay file`. Without a tick count
+     * the run lasts until a violation or until stopped. Exits with status 1 on a violation.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If a repro file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1 && args[0].equals("--replay")) {
+            Properties repro = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(args[1]))) {
+                repro.load(reader);
+            }
+            long seed = Long.parseLong(repro.getProperty("seed"));
+            Checker checker = new Checker();
+            String message = replay(seed, InputLog.parse(repro.getProperty("inputs")), checker);
+            System.out.println(message == null ? "No violation" : "Step " + checker.tick + ": " + message);
+            System.exit(message == null ? 0 : 1);
+        }
+
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : Long.MAX_VALUE;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        long reportNanos = (args.length > 2 ? Long.parseLong(args[2]) : 10) * 1000000000L;
+
+        Soak soak = new Soak(seed);
+        System.out.println("Soak seed " + seed);
+        soak.run(ticks, reportNanos, System.out);
+        if (soak.getViolation() != null) {
+            Path file = Paths.get("soak-" + soak.failedSeed + ".properties");
+            soak.writeRepro(file);
+            System.out.println("Violation: " + soak.getViolation() + ", repro written to " + file);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @brief Runs episodes until the tick budget is spent or an invariant fails.
+     *
+     * @param budget Number of steps to run.
+     * @param reportNanos Time between two reports.
+     * @param out Stream the reports are printed to.
+     * @return True if every invariant held.
+     */
+    public boolean run(long budget, long reportNanos, PrintStream out) {
+        Reporter reporter = new Reporter(out);
+        long nextReport = System.nanoTime() + reportNanos;
+
+        while (ticks < budget && violation == null) {
+            long seed = seeds.nextLong();
+            Match match = new Match(seed);
+            Random inputs = new Random(~seed);
+            log.clear();
+            checker.reset();
+
+            int input = Match.INPUT_NONE;
+            int hold = 0;
+            for (int t = 0; t < EPISODE_TICKS && ticks < budget; t++) {
+                if (hold == 0) {
+                    input = inputs.nextInt(INPUT_CODES.length);
+                    hold = 1 + inputs.nextInt(MAX_HOLD);
+                }
+                hold--;
+                match.tick(input);
+                log.add(input);
+                ticks++;
+
+                String message = checker.check(match);
+                if (message != null) {
+                    fail(seed, message);
+                    break;
+                }
+                if ((ticks & (CLOCK_EVERY - 1)) == 0 && System.nanoTime() >= nextReport) {
+                    longestContact = Math.max(longestContact, checker.longestContact);
+                    reporter.report(ticks, longestContact);
+                    nextReport += reportNanos;
+                }
+            }
+            longestContact = Math.max(longestContact, checker.longestContact);
+        }
+        reporter.report(ticks, longestContact);
+        return violation == null;
+    }
+
+    /**
+     * @brief Records a violation and simplifies its inputs.
+     *
+     * Each held input is replaced by no input, one at a time, as long as the episode still fails.
+     *
+     * @param seed Seed of the failing episode.
+     * @param message Description of the violation.
+     */
+    private void fail(long seed, String message) {
+        failedSeed = seed;
+        violation = message;
+        failedInputs = log.copy();
+
+        Checker replayChecker = new Checker();
+        for (int i = 0; i < failedInputs.runs; i++) {
+            int original = failedInputs.inputs[i];
+            if (original == Match.INPUT_NONE) {
+                continue;
+            }
+            failedInputs.inputs[i] = Match.INPUT_NONE;
+            if (replay(seed, failedInputs, replayChecker) == null) {
+                failedInputs.inputs[i] = original;
+            }
+        }
+        failedInputs.compact();
+        violation = replay(seed, failedInputs, replayChecker);
+        failedInputs.truncate(replayChecker.tick);
+    }
+
+    /**
+     * @brief Plays an episode from a seed and an input log, stopping at the first violation.
+     *
+     * @param seed Seed of the episode.
+     * @param inputs The inputs to play.
+     * @param checker Checker to use; its `tick` is the failing step afterwards.
+     * @return Description of the violation, or null if every invariant held.
+     */
+    static String replay(long seed, InputLog inputs, Checker checker) {
+        Match match = new Match(seed);
+        checker.reset();
+        for (int run = 0; run < inputs.runs; run++) {
+            for (int i = 0; i < inputs.lengths[run]; i++) {
+                match.tick(inputs.inputs[run]);
+                String message = checker.check(match);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @brief Writes the seed and inputs of the violation to a file `--replay` accepts.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeRepro(Path file) throws IOException {
+        List<String> lines = Arrays.asList(
+                "# " + violation,
+                "seed=" + failedSeed,
+                "inputs=" + failedInputs);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @brief Gets the steps run so far.
+     *
+     * @return The tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @brief Gets the description of the violation found.
+     *
+     * @return The violation, or null if none was found.
+     */
+    public String getViolation() {
+        return violation;
+    }
+
+    /**
+     * @brief Gets the seed of the failing episode.
+     *
+     * @return The seed; meaningless if no violation was found.
+     */
+    public long getFailedSeed() {
+        return failedSeed;
+    }
+
+    /**
+     * @brief Gets the simplified inputs reproducing the violation.
+     *
+     * @return The inputs, or null if no violation was found.
+     */
+    public InputLog getFailedInputs() {
+        return failedInputs;
+    }
+
+    /**
+     * @brief Checks the invariants of one match after every step.
+     */
+    static class Checker {
+
+        long tick;                                  /**< @brief Steps checked since the last reset. */
+        int longestContact;                         /**< @brief Longest ball-paddle overlap, in steps. */
+        private int contact;                        /**< @brief Steps of the current overlap. */
+        private int stuck;                          /**< @brief Steps the ball has overlapped a paddle while heading into it. */
+        private int playerScore;                    /**< @brief Player score at the previous step. */
+        private int enemyScore;                     /**< @brief Enemy score at the previous step. */
+
+        /**
+         * @brief Forgets the previous match.
+         */
+        void reset() {
+            tick = 0;
+            longestContact = 0;
+            contact = 0;
+            stuck = 0;
+            playerScore = 0;
+            enemyScore = 0;
+        }
+
+        /**
+         * @brief Checks a match after a step.
+         *
+         * Allocates only to describe a violation.
+         *
+         * @param match The match.
+         * @return Description of the first violated invariant, or null.
+         */
+        String check(Match match) {
+            tick++;
+            EntityStore s = match.world.store;
+            int player = EntityWorld.PLAYER;
+            int enemy = EntityWorld.ENEMY;
+            int ball = EntityWorld.BALL;
+
+            if (s.x[player] < 0 || s.x[player] + s.width[player] > Game.WIDTH) {
+                return "player paddle out of bounds at x=" + s.x[player];
+            }
+            if (s.x[enemy] < 0 || s.x[enemy] + s.width[enemy] > Game.WIDTH) {
+                return "enemy paddle out of bounds at x=" + s.x[enemy];
+            }
+
+            int ps = match.getPlayerScore();
+            int es = match.getEnemyScore();
+            if (ps < playerScore || es < enemyScore || ps + es > playerScore + enemyScore + 1) {
+                return "score went from " + playerScore + "-" + enemyScore + " to " + ps + "-" + es;
+            }
+            playerScore = ps;
+            enemyScore = es;
+
+            boolean onPlayer = overlaps(s, ball, player);
+            boolean onEnemy = overlaps(s, ball, enemy);
+            contact = onPlayer || onEnemy ? contact + 1 : 0;
+            longestContact = Math.max(longestContact, contact);
+
+            stuck = (onPlayer && s.dirY[ball] > 0) || (onEnemy && s.dirY[ball] < 0) ? stuck + 1 : 0;
+            if (stuck > 1) {
+                return "ball heading into the " + (onPlayer ? "player" : "enemy") + " paddle for "
+                        + stuck + " steps at (" + s.x[ball] + ", " + s.y[ball] + ")";
+            }
+            return null;
+        }
+
+        /**
+         * @brief Checks whether a ball overlaps a paddle, as `EntityWorld.collisionSystem` tests it.
+         *
+         * @param s Components of the match.
+         * @param ball Index of the ball.
+         * @param paddle Index of the paddle.
+         * @return True if they overlap.
+         */
+        private static boolean overlaps(EntityStore s, int ball, int paddle) {
+            int bx = (int) s.x[ball];
+            int by = (int) s.y[ball];
+            int rx = (int) s.x[paddle];
+            int ry = (int) s.y[paddle];
+            return bx < rx + s.width[paddle] && rx < bx + s.width[ball] && by < ry + s.height[paddle] && ry < by + s.height[ball];
+        }
+    }
+
+    /**
+     * @brief Run-length log of the inputs of an episode.
+     *
+     * Written as space-separated runs such as `R12 N40 L3`.
+     */
+    static class InputLog {
+
+        int[] inputs = new int[256];                /**< @brief Input of each run. */
+        int[] lengths = new int[256];               /**< @brief Steps of each run. */
+        int runs = 0;                               /**< @brief Number of runs. */
+
+        /**
+         * @brief Empties the log, keeping its arrays.
+         */
+        void clear() {
+            runs = 0;
+        }
+
+        /**
+         * @brief Appends one step.
+         *
+         * @param input The input of the step.
+         */
+        void add(int input) {
+            if (runs > 0 && inputs[runs - 1] == input) {
+                lengths[runs - 1]++;
+                return;
+            }
+            if (runs == inputs.length) {
+                inputs = Arrays.copyOf(inputs, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            inputs[runs] = input;
+            lengths[runs] = 1;
+            runs++;
+        }
+
+        /**
+         * @brief Copies the log.
+         *
+         * @return An independent copy.
+         */
+        InputLog copy() {
+            InputLog copy = new InputLog();
+            copy.inputs = Arrays.copyOf(inputs, Math.max(1, runs));
+            copy.lengths = Arrays.copyOf(lengths, Math.max(1, runs));
+            copy.runs = runs;
+            return copy;
+        }
+
+        /**
+         * @brief Merges neighbouring runs of the same input.
+         */
+        void compact() {
+            int n = 0;
+            for (int i = 0; i < runs; i++) {
+                if (n > 0 && inputs[n - 1] == inputs[i]) {
+                    lengths[n - 1] += lengths[i];
+                } else {
+                    inputs[n] = inputs[i];
+                    lengths[n] = lengths[i];
+                    n++;
+                }
+            }
+            runs = n;
+        }
+
+        /**
+         * @brief Drops every step after the given number of steps.
+         *
+         * @param steps Steps to keep.
+         */
+        void truncate(long steps) {
+            long kept = 0;
+            for (int i = 0; i < runs; i++) {
+                if (kept + lengths[i] >= steps) {
+                    lengths[i] = (int) (steps - kept);
+                    runs = lengths[i] == 0 ? i : i + 1;
+                    return;
+                }
+                kept += lengths[i];
+            }
+        }
+
+        /**
+         * @brief Gets the number of steps in the log.
+         *
+         * @return The step count.
+         */
+        long steps() {
+            long total = 0;
+            for (int i = 0; i < runs; i++) {
+                total += lengths[i];
+            }
+            return total;
+        }
+
+        /**
+         * @brief Reads a log written by `toString`.
+         *
+         * @param text The runs.
+         * @return The log.
+         * @throws IllegalArgumentException If a run is malformed.
+         */
+        static InputLog parse(String text) {
+            InputLog log = new InputLog();
+            for (String run : text.trim().split("\\s+")) {
+                if (run.isEmpty()) {
+                    continue;
+                }
+                int input = new String(INPUT_CODES).indexOf(run.charAt(0));
+                if (input < 0 || run.length() < 2) {
+                    throw new IllegalArgumentException("Invalid input run: " + run);
+                }
+                int length = Integer.parseInt(run.substring(1));
+                for (int i = 0; i < length; i++) {
+                    log.add(input);
+                }
+            }
+            return log;
+        }
+
+        /**
+         * @brief Writes the log as space-separated runs.
+         *
+         * @return The runs.
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < runs; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(INPUT_CODES[inputs[i]]).append(lengths[i]);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * @brief Prints throughput, allocation and collector activity since the previous report.
+     */
+    private static class Reporter {
+
+        private final PrintStream out;              /**< @brief Stream the reports are printed to. */
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean(); /**< @brief Source of allocation counts. */
+        private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans(); /**< @brief Source of collector activity. */
+        private long lastNanos = System.nanoTime(); /**< @brief Time of the previous report. */
+        private long lastTicks = 0;                 /**< @brief Steps at the previous report. */
+        private long lastAllocated = allocated();   /**< @brief Bytes allocated by this thread at the previous report. */
+        private long lastCollections = collections(); /**< @brief Collections at the previous report. */
+        private long lastCollectionMillis = collectionMillis(); /**< @brief Collection time at the previous report. */
+
+        /**
+         * @brief Constructs a reporter starting now.
+         *
+         * @param out Stream the reports are printed to.
+         */
+        Reporter(PrintStream out) {
+            this.out = out;
+        }
+
+        /**
+         * @brief Prints one report.
+         *
+         * @param ticks Steps run so far.
+         * @param longestContact Longest ball-paddle overlap so far, in steps.
+         */
+        void report(long ticks, int longestContact) {
+            long now = System.nanoTime();
+            long allocatedNow = allocated();
+            long collectionsNow = collections();
+            long millisNow = collectionMillis();
+            double seconds = Math.max(1, now - lastNanos) / 1e9;
+
+            out.printf("%,d steps: %,.0f steps/s, %s, %d collections (%d ms), longest contact %d steps%n",
+                    ticks, (ticks - lastTicks) / seconds,
+                    allocatedNow < 0 ? "allocation unknown" : String.format("%,.0f B/s allocated", (allocatedNow - lastAllocated) / seconds),
+                    collectionsNow - lastCollections, millisNow - lastCollectionMillis, longestContact);
+
+            lastNanos = now;
+            lastTicks = ticks;
+            lastAllocated = allocatedNow;
+            lastCollections = collectionsNow;
+            lastCollectionMillis = millisNow;
+        }
+
+        /**
+         * @brief Gets the bytes allocated by the current thread, if the JVM reports it.
+         *
+         * @return The byte count, or -1.
+         */
+        private long allocated() {
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return -1;
+        }
+
+        /**
+         * @brief Gets the collections run by every collector.
+         *
+         * @return The collection count.
+         */
+        private long collections() {
+            long total = 0;
+            for (GarbageCollectorMXBean collector : collectors) {
+                total += Math.max(0, collector.getCollectionCount());
+            }
+            return total;
+        }
+
+        /**
+         * @brief Gets the time spent collecting by every collector.
+         *
+         * @return The collection time in milliseconds.
+         */
+        private long collectionMillis() {
+            long total = 0;
+            for (GarbageCollectorMXBean collector : collectors) {
+                total += Math.max(0, collector.getCollectionTime());
+            }
+            return total;
+        }
+    }
+}
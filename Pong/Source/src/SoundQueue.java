@@ -0,0 +1,86 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @brief Lock-free single-producer, single-consumer ring of sound triggers.
+ *
+ * The game thread offers triggers and the mixer thread polls them. Each side only writes its own
+ * index and publishes it with an ordered store, so neither ever blocks or allocates. A full queue
+ * drops the trigger: a late sound is worse than a missing one.
+ */
+public class SoundQueue {
+
+    private final int[] sounds;                 /**< @brief Sound of each slot. */
+    private final long[] times;                 /**< @brief `System.nanoTime` at which each slot was offered. */
+    private final int mask;                     /**< @brief `sounds.length - 1`. */
+    private final AtomicLong head = new AtomicLong();  /**< @brief Next slot to poll, written by the consumer. */
+    private final AtomicLong tail = new AtomicLong();  /**< @brief Next slot to fill, written by the producer. */
+    private long polledTime;                    /**< @brief Offer time of the last polled trigger. */
+    private long dropped = 0;                   /**< @brief Triggers lost because the queue was full. */
+
+    /**
+     * @brief Constructs an empty queue.
+     *
+     * @param capacity Number of pending triggers, rounded up to a power of two.
+     */
+    public SoundQueue(int capacity) {
+        int n = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        sounds = new int[n];
+        times = new long[n];
+        mask = n - 1;
+    }
+
+    /**
+     * @brief Adds a trigger. Called by the producer thread only.
+     *
+     * @param sound The sound to play.
+     * @param nanos `System.nanoTime` of the trigger.
+     * @return False if the queue was full and the trigger was dropped.
+     */
+    public boolean offer(int sound, long nanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) (t & mask);
+        sounds[slot] = sound;
+        times[slot] = nanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * @brief Takes the oldest trigger. Called by the consumer thread only.
+     *
+     * @return The sound, or -1 if the queue is empty.
+     */
+    public int poll() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return -1;
+        }
+        int slot = (int) (h & mask);
+        int sound = sounds[slot];
+        polledTime = times[slot];
+        head.lazySet(h + 1);
+        return sound;
+    }
+
+    /**
+     * @brief Gets the offer time of the trigger last returned by `poll`.
+     *
+     * @return A `System.nanoTime` value.
+     */
+    public long polledTime() {
+        return polledTime;
+    }
+
+    /**
+     * @brief Gets the number of triggers dropped because the queue was full.
+     *
+     * @return The dropped trigger count, as seen by the producer.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,154 @@
+import java.util.Arrays;
+
+/**
+ * @brief Uniform grid over the field that buckets entities by the cells their boxes cover.
+ *
+ * `clear` empties it and `insert` links an entity into every cell it covers. Cells are singly
+ * linked lists kept in int arrays, so a rebuild allocates nothing once the entry arrays have grown
+ * to the number of entries. Cells are a power of two wide, so finding one is a shift. Boxes partly
+ * or wholly off the field are clamped to the border cells, so a lookup still finds them; callers
+ * test the exact boxes.
+ */
+public class SpatialGrid {
+
+    private final int cellShift;                /**< @brief Base-2 logarithm of the cell size. */
+    private final int columns;                  /**< @brief Number of cells across. */
+    private final int rows;                     /**< @brief Number of cells down. */
+    private final int[] head;                   /**< @brief First entry of each cell, or -1. */
+    private int[] next;                         /**< @brief Next entry in the same cell, or -1. */
+    private int[] entity;                       /**< @brief Entity of each entry. */
+    private int entries = 0;                    /**< @brief Number of entries in use. */
+
+    /**
+     * @brief Constructs an empty grid.
+     *
+     * @param width Width of the area covered, in pixels.
+     * @param height Height of the area covered, in pixels.
+     * @param cellSize Width and height of a cell, in pixels; a power of two.
+     * @throws IllegalArgumentException If the cell size is not a power of two.
+     */
+    public SpatialGrid(int width, int height, int cellSize) {
+        if (cellSize < 1 || Integer.bitCount(cellSize) != 1) {
+            throw new IllegalArgumentException("Cell size must be a power of two: " + cellSize);
+        }
+        this.cellShift = Integer.numberOfTrailingZeros(cellSize);
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        head = new int[columns * rows];
+        next = new int[4];
+        entity = new int[4];
+        clear();
+    }
+
+    /**
+     * @brief Removes every entity.
+     */
+    public void clear() {
+        Arrays.fill(head, -1);
+        entries = 0;
+    }
+
+    /**
+     * @brief Adds an entity to every cell its box covers.
+     *
+     * @param e Index of the entity.
+     * @param x X-coordinate of the box.
+     * @param y Y-coordinate of the box.
+     * @param width Width of the box, at least 1.
+     * @param height Height of the box, at least 1.
+     */
+    public void insert(int e, int x, int y, int width, int height) {
+        int c1 = column(x + width - 1);
+        int r1 = row(y + height - 1);
+        for (int r = row(y); r <= r1; r++) {
+            for (int c = column(x); c <= c1; c++) {
+                if (entries == next.length) {
+                    next = Arrays.copyOf(next, entries * 2);
+                    entity = Arrays.copyOf(entity, entries * 2);
+                }
+                int cell = r * columns + c;
+                entity[entries] = e;
+                next[entries] = head[cell];
+                head[cell] = entries++;
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the column of an x-coordinate, clamped to the grid.
+     *
+     * @param x The x-coordinate.
+     * @return The column.
+     */
+    public int column(int x) {
+        return Math.max(0, Math.min(columns - 1, x >> cellShift));
+    }
+
+    /**
+     * @brief Gets the row of a y-coordinate, clamped to the grid.
+     *
+     * @param y The y-coordinate.
+     * @return The row.
+     */
+    public int row(int y) {
+        return Math.max(0, Math.min(rows - 1, y >> cellShift));
+    }
+
+    /**
+     * @brief Gets the first entry of a cell.
+     *
+     * @param column Column of the cell.
+     * @param row Row of the cell.
+     * @return The entry, or -1 if the cell is empty.
+     */
+    public int first(int column, int row) {
+        return head[row * columns + column];
+    }
+
+    /**
+     * @brief Gets the entry after another one in the same cell.
+     *
+     * @param entry The entry.
+     * @return The next entry, or -1.
+     */
+    public int next(int entry) {
+        return next[entry];
+    }
+
+    /**
+     * @brief Gets the entity of an entry.
+     *
+     * @param entry The entry.
+     * @return Index of the entity.
+     */
+    public int entity(int entry) {
+        return entity[entry];
+    }
+
+    /**
+     * @brief Gets the number of cells across.
+     *
+     * @return The column count.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @brief Gets the number of cells down.
+     *
+     * @return The row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @brief Gets the width and height of a cell.
+     *
+     * @return The cell size in pixels.
+     */
+    public int getCellSize() {
+        return 1 << cellShift;
+    }
+}
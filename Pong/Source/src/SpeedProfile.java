@@ -0,0 +1,346 @@
+import java.awt.Color;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * @brief Data-driven description of how fast the ball moves and where it goes.
+ *
+ * A profile lists the speed levels the ball switches between every few points, how much speed is
+ * added per paddle hit and per point, and the angles the ball may take at launch and after a paddle
+ * hit. Every allowed angle's unit vector is computed once when the profile is built, so the ball
+ * never calls trigonometric functions while playing.
+ *
+ * Profiles are read from properties files; any missing key keeps its default:
+ * ```
+ * levels = 0.7, 1.0, 1.3          # speed of each level
+ * colors = FFFFFF, FFFF00, FF0000 # ball color of each level
+ * changeEvery = 3                 # points between two random level changes
+ * rallyAcceleration = 0.0         # speed added per paddle hit, reset when a point ends
+ * scoreAcceleration = 0.0         # speed added per point scored in the match
+ * maxSpeed = 4.0                  # cap of the accelerated speed
+ * launchAngles = 80, 100, 80, 100 # min, max, excluded-from, excluded-to (degrees)
+ * bounceAngles = 61, 120, 70, 110
+ * ```
+ * An angle range allows every whole degree from min to max, except those strictly between the two
+ * excluded bounds.
+ */
+public class SpeedProfile {
+
+    private static final SpeedProfile DEFAULT_PROFILE = new SpeedProfile(new Properties()); /**< @brief The built-in profile. */
+    private static volatile SpeedProfile defaultProfile = DEFAULT_PROFILE;  /**< @brief Profile used by balls built without one. */
+    private static final String[] KEYS = {"levels", "colors", "changeEvery", "rallyAcceleration",
+            "scoreAcceleration", "maxSpeed", "launchAngles", "bounceAngles"}; /**< @brief Every key a profile reads. */
+
+    private final SpeedStrategy[] levels;       /**< @brief Speed of each level. */
+    private final Color[] colors;               /**< @brief Ball color of each level. */
+    private final int changeEvery;              /**< @brief Points between two level changes. */
+    private final double rallyAcceleration;     /**< @brief Speed added per paddle hit. */
+    private final double scoreAcceleration;     /**< @brief Speed added per point. */
+    private final double maxSpeed;              /**< @brief Cap of the accelerated speed. */
+    private final AngleDistribution launch;     /**< @brief Angles of a ball put in play. */
+    private final AngleDistribution bounce;     /**< @brief Angles of a ball leaving a paddle. */
+
+    /**
+     * @brief Builds a profile from properties, using defaults for missing keys.
+     *
+     * @param properties The profile settings.
+     * @throws IllegalArgumentException If a value is malformed.
+     */
+    public SpeedProfile(Properties properties) {
+        String levelList = properties.getProperty("levels");
+        if (levelList == null) {
+            levels = new SpeedStrategy[] {new InitialSpeedStrategy(), new IncreasedSpeedStrategy(), new MaxSpeedStrategy()};
+        } else {
+            double[] speeds = parseNumbers("levels", levelList);
+            levels = new SpeedStrategy[speeds.length];
+            for (int i = 0; i < speeds.length; i++) {
+                levels[i] = new ConfiguredSpeedStrategy(speeds[i]);
+            }
+        }
+
+        String[] colorList = properties.getProperty("colors", "FFFFFF, FFFF00, FF0000").split(",");
+        colors = new Color[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            String hex = colorList[Math.min(i, colorList.length - 1)].trim();
+            try {
+                colors[i] = new Color(Integer.parseInt(hex, 16));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid color in speed profile: " + hex, e);
+            }
+        }
+
+        changeEvery = (int) number(properties, "changeEvery", 3);
+        rallyAcceleration = number(properties, "rallyAcceleration", 0.0);
+        scoreAcceleration = number(properties, "scoreAcceleration", 0.0);
+        maxSpeed = number(properties, "maxSpeed", 4.0);
+        launch = new AngleDistribution("launchAngles", parseNumbers("launchAngles", properties.getProperty("launchAngles", "80, 100, 80, 100")));
+        bounce = new AngleDistribution("bounceAngles", parseNumbers("bounceAngles", properties.getProperty("bounceAngles", "61, 120, 70, 110")));
+
+        if (levels.length == 0 || changeEvery < 1) {
+            throw new IllegalArgumentException("A speed profile needs at least one level and changeEvery >= 1");
+        }
+    }
+
+    /**
+     * @brief Reads a profile from a properties file.
+     *
+     * @param file The profile file.
+     * @return The profile.
+     * @throws IOException If the file cannot be read.
+     */
+    public static SpeedProfile load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return new SpeedProfile(properties);
+    }
+
+    /**
+     * @brief Tells whether properties set any key of a speed profile.
+     *
+     * @param properties The settings.
+     * @return True if at least one profile key is present.
+     */
+    public static boolean isDefinedIn(Properties properties) {
+        for (String key : KEYS) {
+            if (properties.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Gets the built-in profile, equal to the original three speed strategies.
+     *
+     * @return The built-in profile.
+     */
+    public static SpeedProfile builtIn() {
+        return DEFAULT_PROFILE;
+    }
+
+    /**
+     * @brief Gets the profile used by balls constructed without one.
+     *
+     * @return The default profile.
+     */
+    public static SpeedProfile getDefault() {
+        return defaultProfile;
+    }
+
+    /**
+     * @brief Sets the profile used by balls constructed from now on.
+     *
+     * @param profile The new default profile.
+     */
+    public static void setDefault(SpeedProfile profile) {
+        defaultProfile = profile;
+    }
+
+    /**
+     * @brief Gets the number of speed levels.
+     *
+     * @return The level count.
+     */
+    public int levelCount() {
+        return levels.length;
+    }
+
+    /**
+     * @brief Gets the speed strategy of a level.
+     *
+     * @param level Level index, from 0.
+     * @return The strategy of the level.
+     */
+    public SpeedStrategy level(int level) {
+        return levels[level];
+    }
+
+    /**
+     * @brief Gets the ball color of a level.
+     *
+     * @param level Level index, from 0.
+     * @return The color of the level.
+     */
+    public Color color(int level) {
+        return colors[level];
+    }
+
+    /**
+     * @brief Gets the number of points between two level changes.
+     *
+     * @return The change interval in points.
+     */
+    public int getChangeEvery() {
+        return changeEvery;
+    }
+
+    /**
+     * @brief Computes the speed of a ball.
+     *
+     * @param strategy Strategy of the current level.
+     * @param rallyHits Paddle hits since the last point.
+     * @param totalScore Points scored so far in the match.
+     * @return The speed, capped at `maxSpeed`.
+     */
+    public double speed(SpeedStrategy strategy, int rallyHits, int totalScore) {
+        return Math.min(maxSpeed, strategy.getSpeed() + rallyHits * rallyAcceleration + totalScore * scoreAcceleration);
+    }
+
+    /**
+     * @brief Gets the angles of a ball put in play.
+     *
+     * @return The launch distribution.
+     */
+    public AngleDistribution getLaunch() {
+        return launch;
+    }
+
+    /**
+     * @brief Gets the angles of a ball leaving a paddle.
+     *
+     * @return The bounce distribution.
+     */
+    public AngleDistribution getBounce() {
+        return bounce;
+    }
+
+    /**
+     * @brief Reads a number with a default.
+     *
+     * @param properties The profile settings.
+     * @param key The key to read.
+     * @param fallback Value used when the key is missing.
+     * @return The number.
+     */
+    private static double number(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        return value == null ? fallback : parseNumbers(key, value)[0];
+    }
+
+    /**
+     * @brief Parses a comma-separated list of numbers.
+     *
+     * @param key Key of the list, for error messages.
+     * @param value The list.
+     * @return The numbers.
+     */
+    private static double[] parseNumbers(String key, String value) {
+        String[] parts = value.split(",");
+        double[] numbers = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                numbers[i] = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + key + " in speed profile: " + value, e);
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * @brief Set of whole-degree angles with their unit vectors precomputed.
+     */
+    public static class AngleDistribution {
+
+        private final int[] angles;             /**< @brief Allowed angles in degrees. */
+        private final double[] dx;              /**< @brief Sine of each angle. */
+        private final double[] dy;              /**< @brief Cosine of each angle. */
+
+        /**
+         * @brief Builds the distribution of a range with an excluded middle.
+         *
+         * @param key Key of the range, for error messages.
+         * @param bounds min, max, and optionally the excluded-from and excluded-to bounds.
+         * @throws IllegalArgumentException If there are not two or four bounds, a pair is out of
+         *                                  order, or the range allows no angle.
+         */
+        AngleDistribution(String key, double[] bounds) {
+            if (bounds.length != 2 && bounds.length != 4) {
+                throw new IllegalArgumentException(key + " needs min, max and optionally excluded-from, excluded-to; got " + bounds.length + " values");
+            }
+            int min = (int) bounds[0];
+            int max = (int) bounds[1];
+            int excludedFrom = bounds.length == 4 ? (int) bounds[2] : max;
+            int excludedTo = bounds.length == 4 ? (int) bounds[3] : max;
+            if (min > max || excludedFrom > excludedTo) {
+                throw new IllegalArgumentException(key + " bounds out of order: min must not exceed max, nor excluded-from excluded-to");
+            }
+
+            List<Integer> allowed = new ArrayList<>();
+            for (int angle = min; angle <= max; angle++) {
+                if (!(angle > excludedFrom && angle < excludedTo)) {
+                    allowed.add(angle);
+                }
+            }
+            if (allowed.isEmpty()) {
+                throw new IllegalArgumentException(key + " range " + min + ".." + max + " allows no angle");
+            }
+
+            angles = new int[allowed.size()];
+            dx = new double[angles.length];
+            dy = new double[angles.length];
+            for (int i = 0; i < angles.length; i++) {
+                angles[i] = allowed.get(i);
+                dx[i] = Math.sin(Math.toRadians(angles[i]));
+                dy[i] = Math.cos(Math.toRadians(angles[i]));
+            }
+        }
+
+        /**
+         * @brief Picks one of the allowed angles uniformly.
+         *
+         * @param random Source of randomness.
+         * @return Index of the angle, for `angle`, `dx` and `dy`.
+         */
+        public int pick(Random random) {
+            return random.nextInt(angles.length);
+        }
+
+        /**
+         * @brief Gets an allowed angle.
+         *
+         * @param index Index returned by `pick`.
+         * @return The angle in degrees.
+         */
+        public int angle(int index) {
+            return angles[index];
+        }
+
+        /**
+         * @brief Gets the x component of an angle's unit vector.
+         *
+         * @param index Index returned by `pick`.
+         * @return The sine of the angle.
+         */
+        public double dx(int index) {
+            return dx[index];
+        }
+
+        /**
+         * @brief Gets the y component of an angle's unit vector.
+         *
+         * @param index Index returned by `pick`.
+         * @return The cosine of the angle.
+         */
+        public double dy(int index) {
+            return dy[index];
+        }
+
+        /**
+         * @brief Gets the number of allowed angles.
+         *
+         * @return The angle count.
+         */
+        public int size() {
+            return angles.length;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * @brief Interface for defining speed strategy.
+ * 
+ * This interface defines a method for retrieving the speed value
+ * based on different speed strategy implementations.
+ */
+interface SpeedStrategy {
+    /**
+     * @brief Retrieves the speed value.
+     * 
+     * @return The speed value determined by the strategy.
+     */
+    double getSpeed();
+}
@@ -0,0 +1,389 @@
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.JFrame;
+
+/**
+ * @brief Runs two to four independent matches on one screen.
+ *
+ * Every match is a tile of a single canvas. The matches are ticked by a small scheduled pool and
+ * hand their state to the render thread through a `FrameExchange` each. The render thread draws
+ * every tile into one composite image and shows it with a single scaled blit on one
+ * `BufferStrategy`. The window has the size of the single-player game whatever the number of
+ * tiles, so presenting a frame costs the same for one tile or four and only drawing the tiles
+ * themselves grows with their number.
+ *
+ * Controls, one pair of keys per tile: arrows, `A`/`D`, `J`/`L`, numpad `4`/`6`. `Escape` quits.
+ */
+public class SplitScreen extends Canvas implements Runnable, KeyListener {
+
+    private static final long serialVersionUID = 1L; /**< @brief Version of the serialized form inherited from `Canvas`. */
+    public static final int MAX_TILES = 4;          /**< @brief Largest number of matches on screen. */
+    public static final int SCREEN_WIDTH = Game.WIDTH * 4;      /**< @brief Width of the window. */
+    public static final int SCREEN_HEIGHT = Game.HEIGHT * 4;    /**< @brief Height of the window. */
+    private static final int[][] KEYS = {           /**< @brief Left and right key of each tile. */
+        {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT},
+        {KeyEvent.VK_A, KeyEvent.VK_D},
+        {KeyEvent.VK_J, KeyEvent.VK_L},
+        {KeyEvent.VK_NUMPAD4, KeyEvent.VK_NUMPAD6}
+    };
+
+    private final Tile[] tiles;                     /**< @brief The matches on screen. */
+    private final AtomicIntegerArray inputs;        /**< @brief Held input of each tile, written by the key listener. */
+    private final int columns;                      /**< @brief Tiles per row. */
+    private final int rows;                         /**< @brief Rows of tiles. */
+    private final BufferedImage composite;          /**< @brief Every tile at field resolution. */
+    private final int scale;                        /**< @brief Largest scale at which the composite fits the window. */
+    private final FrameRenderer renderer = new FrameRenderer(); /**< @brief Draws one tile. */
+    private ScheduledExecutorService scheduler;     /**< @brief Pool ticking the matches, or null when stopped. */
+    private volatile boolean running = true;        /**< @brief Cleared to stop the render loop. */
+    private long frames = 0;                        /**< @brief Frames composed so far. */
+    private long composeNanos = 0;                  /**< @brief Total time spent composing and presenting. */
+
+    /**
+     * @brief Constructs a split screen with one match per tile.
+     *
+     * @param count Number of matches, from 1 to `MAX_TILES`.
+     * @param seed Seed of the first match; the others use the following seeds.
+     * @throws IllegalArgumentException If the count is out of range.
+     */
+    public SplitScreen(int count, long seed) {
+        if (count < 1 || count > MAX_TILES) {
+            throw new IllegalArgumentException("Tile count must be between 1 and " + MAX_TILES);
+        }
+        tiles = new Tile[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = new Tile(i, new Match(seed + i));
+        }
+        inputs = new AtomicIntegerArray(count);
+        columns = count == 1 ? 1 : 2;
+        rows = (count + 1) / 2;
+        composite = new BufferedImage(columns * Game.WIDTH, rows * Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        scale = Math.min(SCREEN_WIDTH / composite.getWidth(), SCREEN_HEIGHT / composite.getHeight());
+
+        this.setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
+        this.addKeyListener(this);
+    }
+
+    /**
+     * @brief Starts a split screen from the command line.
+     *
+     * Usage: `SplitScreen [tiles]` or `SplitScreen --bench [frames]`.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--bench")) {
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+            long single = 0;
+            for (int n = 1; n <= MAX_TILES; n++) {
+                long nanos = benchmark(n, count);
+                single = n == 1 ? nanos : single;
+                System.out.printf("%d tiles: %.1f us/frame (%.2fx one tile)%n", n, nanos / 1000.0, (double) nanos / single);
+            }
+            return;
+        }
+
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        SplitScreen screen = new SplitScreen(count, System.nanoTime());
+        JFrame frame = new JFrame("Pong x" + count);
+        frame.add(screen);
+        frame.pack();
+        frame.setResizable(false);
+        frame.setLocationRelativeTo(null);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setVisible(true);
+        screen.requestFocus();
+
+        screen.start(Math.min(count, Runtime.getRuntime().availableProcessors()), GameConfig.defaults().tickRate);
+        new Thread(screen, "split-render").start();
+    }
+
+    /**
+     * @brief Measures the time to compose and scale one frame, without a window.
+     *
+     * The matches are ticked on the calling thread between frames; the window is replaced by an
+     * image of the same size.
+     *
+     * @param count Number of tiles.
+     * @param frameCount Number of frames to time, after as many warm-up frames.
+     * @return Average nanoseconds per frame.
+     */
+    static long benchmark(int count, int frameCount) {
+        SplitScreen screen = new SplitScreen(count, 1);
+        BufferedImage window = new BufferedImage(SCREEN_WIDTH, SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        long total = 0;
+        for (int i = 0; i < 2 * frameCount; i++) {
+            screen.tickAll();
+            long start = System.nanoTime();
+            screen.compose();
+            Graphics g = window.getGraphics();
+            screen.present(g);
+            g.dispose();
+            if (i >= frameCount) {
+                total += System.nanoTime() - start;
+            }
+        }
+        return total / frameCount;
+    }
+
+    /**
+     * @brief Starts ticking every match on a pool.
+     *
+     * @param threads Number of ticking threads.
+     * @param tickRate Ticks per second of every match.
+     */
+    public void start(int threads, int tickRate) {
+        scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "split-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = 1000000000L / tickRate;
+        for (Tile tile : tiles) {
+            scheduler.scheduleAtFixedRate(tile, period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @brief Stops ticking the matches and ends the render loop.
+     *
+     * @throws InterruptedException If interrupted while waiting for a tick in progress.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @brief Ticks every match once on the calling thread. Only valid while the pool is stopped.
+     */
+    void tickAll() {
+        for (Tile tile : tiles) {
+            tile.run();
+        }
+    }
+
+    /**
+     * @brief Render loop: composes and shows every tile at the frame rate.
+     *
+     * @return void
+     */
+    @Override
+    public void run() {
+        long frameNanos = GameConfig.defaults().frameNanos;
+        long next = System.nanoTime();
+        while (running) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            next += frameNanos;
+
+            BufferStrategy bs = this.getBufferStrategy();
+            if (bs == null) {
+                this.createBufferStrategy(3);
+                continue;
+            }
+
+            long start = System.nanoTime();
+            compose();
+            Graphics g = bs.getDrawGraphics();
+            present(g);
+            g.dispose();
+            bs.show();
+            composeNanos += System.nanoTime() - start;
+            frames++;
+        }
+    }
+
+    /**
+     * @brief Draws the latest frame of every tile into the composite image.
+     *
+     * Tiles share one graphics context; each is drawn through a child context translated to its
+     * corner and clipped to its bounds. Unused cells stay black.
+     *
+     * @return The composite image.
+     */
+    BufferedImage compose() {
+        Graphics g = composite.getGraphics();
+        for (Tile tile : tiles) {
+            int x = (tile.index % columns) * Game.WIDTH;
+            int y = (tile.index / columns) * Game.HEIGHT;
+            Graphics cell = g.create(x, y, Game.WIDTH, Game.HEIGHT);
+            renderer.draw(cell, tile.exchange.latest(), false, null, 0);
+            cell.dispose();
+        }
+
+        g.setColor(Color.DARK_GRAY);
+        for (int c = 1; c < columns; c++) {
+            g.fillRect(c * Game.WIDTH - 1, 0, 1, composite.getHeight());
+        }
+        for (int r = 1; r < rows; r++) {
+            g.fillRect(0, r * Game.HEIGHT - 1, composite.getWidth(), 1);
+        }
+        g.dispose();
+        return composite;
+    }
+
+    /**
+     * @brief Draws the composite image scaled and centred on the window.
+     *
+     * Only the bars around the image are cleared, so every window pixel is written once.
+     *
+     * @param g Graphics context of the window.
+     */
+    private void present(Graphics g) {
+        int w = composite.getWidth() * scale;
+        int h = composite.getHeight() * scale;
+        int x = (SCREEN_WIDTH - w) / 2;
+        int y = (SCREEN_HEIGHT - h) / 2;
+
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, SCREEN_WIDTH, y);
+        g.fillRect(0, y + h, SCREEN_WIDTH, SCREEN_HEIGHT - y - h);
+        g.fillRect(0, y, x, h);
+        g.fillRect(x + w, y, SCREEN_WIDTH - x - w, h);
+        g.drawImage(composite, x, y, w, h, null);
+    }
+
+    /**
+     * @brief Gets the match shown in a tile.
+     *
+     * @param index The tile.
+     * @return Its match.
+     */
+    public Match getMatch(int index) {
+        return tiles[index].match;
+    }
+
+    /**
+     * @brief Gets the number of tiles.
+     *
+     * @return The tile count.
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * @brief Sets the held input of a tile.
+     *
+     * @param index The tile.
+     * @param input One of `Match.INPUT_NONE`, `Match.INPUT_LEFT` or `Match.INPUT_RIGHT`.
+     */
+    public void setInput(int index, int input) {
+        inputs.set(index, input);
+    }
+
+    /**
+     * @brief Gets the average time to compose and present a frame on screen.
+     *
+     * @return Nanoseconds per frame, or 0 before the first frame.
+     */
+    public long getAverageFrameNanos() {
+        return frames == 0 ? 0 : composeNanos / frames;
+    }
+
+    /**
+     * @brief Holds a key of a tile.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+            System.exit(0);
+        }
+        for (int i = 0; i < tiles.length; i++) {
+            if (e.getKeyCode() == KEYS[i][0]) {
+                inputs.set(i, Match.INPUT_LEFT);
+            } else if (e.getKeyCode() == KEYS[i][1]) {
+                inputs.set(i, Match.INPUT_RIGHT);
+            }
+        }
+    }
+
+    /**
+     * @brief Releases a key of a tile, if it is the one held.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+        for (int i = 0; i < tiles.length; i++) {
+            if ((e.getKeyCode() == KEYS[i][0] && inputs.get(i) == Match.INPUT_LEFT)
+                    || (e.getKeyCode() == KEYS[i][1] && inputs.get(i) == Match.INPUT_RIGHT)) {
+                inputs.set(i, Match.INPUT_NONE);
+            }
+        }
+    }
+
+    /**
+     * @brief Ignores typed characters.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyTyped(KeyEvent e) {
+    }
+
+    /**
+     * @brief A match and the exchange it publishes its frames through.
+     *
+     * The pool never runs the same tile on two threads at once, so a tile is the single writer
+     * of its exchange.
+     */
+    private class Tile implements Runnable {
+
+        final int index;                            /**< @brief Position of the tile on screen. */
+        final Match match;                          /**< @brief The simulated match. */
+        final FrameExchange exchange = new FrameExchange(); /**< @brief Frames handed to the render thread. */
+
+        /**
+         * @brief Constructs a tile and publishes its first frame.
+         *
+         * @param index Position of the tile on screen.
+         * @param match The simulated match.
+         */
+        Tile(int index, Match match) {
+            this.index = index;
+            this.match = match;
+            publish();
+        }
+
+        /**
+         * @brief Ticks the match with the tile's held input and publishes the result.
+         */
+        @Override
+        public void run() {
+            match.tick(inputs.get(index));
+            publish();
+        }
+
+        /**
+         * @brief Captures the match into the back frame and publishes it.
+         */
+        private void publish() {
+            exchange.back().capture(match.getTicks(), match.world);
+            exchange.publish();
+        }
+    }
+}
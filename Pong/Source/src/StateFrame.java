@@ -0,0 +1,146 @@
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * @brief Snapshot of everything the renderer needs to draw one gameplay frame.
+ *
+ * Frames are plain mutable holders reused through a `FrameExchange`: the simulation thread fills
+ * one with `capture` while the render thread draws another, so neither ever sees the other's
+ * half-written values. The entity arrays hold the entities of the field in store order followed by
+ * the power-up pickups, and only grow when a field has more of them than any frame captured
+ * before, so steady play copies into them without allocating.
+ */
+public class StateFrame {
+
+    long tick;                          /**< @brief Simulation step the frame was captured at. */
+    int count;                          /**< @brief Number of entities and pickups in the frame. */
+    int[] x = new int[4];               /**< @brief X-coordinate of each entity or pickup, as drawn. */
+    int[] y = new int[4];               /**< @brief Y-coordinate of each entity or pickup, as drawn. */
+    int[] width = new int[4];           /**< @brief Width of each entity or pickup. */
+    int[] height = new int[4];          /**< @brief Height of each entity or pickup. */
+    Color[] color = new Color[4];       /**< @brief Color of each entity or pickup. */
+    int ballX;                          /**< @brief X-coordinate of the first ball, as drawn, for effects. */
+    int ballY;                          /**< @brief Y-coordinate of the first ball, as drawn, for effects. */
+    int ballSize;                       /**< @brief Width and height of the first ball. */
+    Color ballColor = Color.WHITE;      /**< @brief Color of the first ball. */
+    int playerScore;                    /**< @brief Score of the player. */
+    int enemyScore;                     /**< @brief Score of the enemy. */
+    long paddleBounces;                 /**< @brief Paddle hits of any ball so far, for effects. */
+    long wallBounces;                   /**< @brief Side wall hits of any ball so far, for effects. */
+
+    /**
+     * @brief Fills the frame from a live field.
+     *
+     * @param tick Simulation step being captured.
+     * @param world The field.
+     */
+    public void capture(long tick, EntityWorld world) {
+        capture(tick, world, null);
+    }
+
+    /**
+     * @brief Fills the frame from a live field and its power-ups.
+     *
+     * @param tick Simulation step being captured.
+     * @param world The field.
+     * @param powerUps Power-ups of the field, or null if it has none.
+     */
+    public void capture(long tick, EntityWorld world, PowerUps powerUps) {
+        EntityStore s = world.store;
+        int pickups = powerUps == null ? 0 : powerUps.pickupCount();
+        this.tick = tick;
+        ensureCapacity(s.count + pickups);
+        count = s.count + pickups;
+
+        int ball = -1;
+        for (int i = 0; i < s.count; i++) {
+            x[i] = (int) s.x[i];
+            y[i] = (int) s.y[i];
+            width[i] = s.width[i];
+            height[i] = s.height[i];
+            color[i] = world.color(i);
+            if (ball < 0 && s.kind[i] == EntityStore.KIND_BALL) {
+                ball = i;
+            }
+        }
+        for (int p = 0; p < pickups; p++) {
+            int i = s.count + p;
+            x[i] = powerUps.pickupX(p);
+            y[i] = powerUps.pickupY(p);
+            width[i] = PowerUps.PICKUP_SIZE;
+            height[i] = PowerUps.PICKUP_SIZE;
+            color[i] = powerUps.pickupColor(p);
+        }
+        if (ball >= 0) {
+            ballX = x[ball];
+            ballY = y[ball];
+            ballSize = width[ball];
+            ballColor = color[ball];
+        }
+
+        playerScore = world.getPlayerScore();
+        enemyScore = world.getEnemyScore();
+        paddleBounces = world.getPaddleBounces();
+        wallBounces = world.getWallBounces();
+    }
+
+    /**
+     * @brief Copies another frame into this one.
+     *
+     * @param other The frame to copy.
+     */
+    public void copyFrom(StateFrame other) {
+        tick = other.tick;
+        ensureCapacity(other.count);
+        count = other.count;
+        System.arraycopy(other.x, 0, x, 0, count);
+        System.arraycopy(other.y, 0, y, 0, count);
+        System.arraycopy(other.width, 0, width, 0, count);
+        System.arraycopy(other.height, 0, height, 0, count);
+        System.arraycopy(other.color, 0, color, 0, count);
+        ballX = other.ballX;
+        ballY = other.ballY;
+        ballSize = other.ballSize;
+        ballColor = other.ballColor;
+        playerScore = other.playerScore;
+        enemyScore = other.enemyScore;
+        paddleBounces = other.paddleBounces;
+        wallBounces = other.wallBounces;
+    }
+
+    /**
+     * @brief Checks whether two frames would be drawn identically.
+     *
+     * The tick and the bounce counters are ignored: sub-pixel motion changes them without changing
+     * the picture.
+     *
+     * @param other The frame to compare with.
+     * @return True if both frames produce the same picture.
+     */
+    public boolean looksLike(StateFrame other) {
+        return count == other.count
+                && Arrays.equals(x, 0, count, other.x, 0, count)
+                && Arrays.equals(y, 0, count, other.y, 0, count)
+                && Arrays.equals(width, 0, count, other.width, 0, count)
+                && Arrays.equals(height, 0, count, other.height, 0, count)
+                && Arrays.equals(color, 0, count, other.color, 0, count)
+                && playerScore == other.playerScore && enemyScore == other.enemyScore;
+    }
+
+    /**
+     * @brief Grows the entity arrays to hold at least the given number of entities.
+     *
+     * @param needed Number of entities to hold.
+     */
+    private void ensureCapacity(int needed) {
+        if (needed <= x.length) {
+            return;
+        }
+        int capacity = Math.max(needed, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        color = Arrays.copyOf(color, capacity);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * @brief Hashed timer wheel counting in simulation ticks.
+ *
+ * Timers are linked intrusively into the slot of their deadline, so scheduling, cancelling and
+ * expiring never allocate. Each slot is kept sorted by deadline: a timer further away than one
+ * turn of the wheel waits behind the timers of earlier turns, and a tick only visits the timers
+ * that expire in it, however many are pending. Scheduling pays instead, walking its slot.
+ */
+public class TimerWheel {
+
+    /**
+     * @brief A schedulable entry; subclasses carry what expired.
+     */
+    public static class Timer {
+        Timer next;                             /**< @brief Next timer in the same slot, or in the expired chain. */
+        Timer prev;                             /**< @brief Previous timer in the same slot. */
+        long deadline;                          /**< @brief Tick at which the timer expires. */
+        boolean scheduled;                      /**< @brief True while the timer is in the wheel. */
+
+        /**
+         * @brief Checks whether the timer is waiting in a wheel.
+         *
+         * @return True if scheduled and not yet expired or cancelled.
+         */
+        public boolean isScheduled() {
+            return scheduled;
+        }
+
+        /**
+         * @brief Gets the next timer of an expired chain returned by `advance`.
+         *
+         * Read it before rescheduling this timer, which relinks it.
+         *
+         * @return The next expired timer, or null.
+         */
+        public Timer nextExpired() {
+            return next;
+        }
+    }
+
+    private final Timer[] slots;                /**< @brief Head of the timer list of each slot. */
+    private final int mask;                     /**< @brief `slots.length - 1`, for power-of-two slot counts. */
+    private long now = 0;                       /**< @brief Current tick. */
+    private int size = 0;                       /**< @brief Number of scheduled timers. */
+    private long visited = 0;                   /**< @brief Timers looked at by `advance`, expired or not. */
+
+    /**
+     * @brief Constructs an empty wheel.
+     *
+     * @param slotCount Number of slots, rounded up to a power of two; delays shorter than this
+     *                  never wait for a later turn.
+     */
+    public TimerWheel(int slotCount) {
+        int n = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        slots = new Timer[n];
+        mask = n - 1;
+    }
+
+    /**
+     * @brief Schedules a timer, moving it if it was already scheduled.
+     *
+     * @param timer The timer.
+     * @param delay Ticks until it expires, at least 1.
+     */
+    public void schedule(Timer timer, long delay) {
+        if (timer.scheduled) {
+            cancel(timer);
+        }
+
+        timer.deadline = now + Math.max(1, delay);
+        int slot = (int) (timer.deadline & mask);
+
+        // Insert after every timer due no later, so equal deadlines expire in scheduling order
+        Timer before = null;
+        Timer after = slots[slot];
+        while (after != null && after.deadline <= timer.deadline) {
+            before = after;
+            after = after.next;
+        }
+        timer.prev = before;
+        timer.next = after;
+        if (before != null) {
+            before.next = timer;
+        } else {
+            slots[slot] = timer;
+        }
+        if (after != null) {
+            after.prev = timer;
+        }
+        timer.scheduled = true;
+        size++;
+    }
+
+    /**
+     * @brief Removes a timer from the wheel; does nothing if it is not scheduled.
+     *
+     * @param timer The timer.
+     */
+    public void cancel(Timer timer) {
+        if (!timer.scheduled) {
+            return;
+        }
+
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[(int) (timer.deadline & mask)] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.next = null;
+        timer.prev = null;
+        timer.scheduled = false;
+        size--;
+    }
+
+    /**
+     * @brief Moves to the next tick and unlinks the timers due in it.
+     *
+     * @return The expired timers chained through `nextExpired`, or null if none.
+     */
+    public Timer advance() {
+        now++;
+        int slot = (int) (now & mask);
+        Timer expired = null;
+        Timer last = null;
+
+        Timer timer = slots[slot];
+        while (timer != null) {
+            visited++;
+            if (timer.deadline > now) {
+                break;
+            }
+            cancel(timer);
+            if (last == null) {
+                expired = timer;
+            } else {
+                last.next = timer;
+            }
+            last = timer;
+            timer = slots[slot];
+        }
+        return expired;
+    }
+
+    /**
+     * @brief Gets the current tick.
+     *
+     * @return Ticks advanced since the wheel was created.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * @brief Gets the number of scheduled timers.
+     *
+     * @return The timer count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @brief Gets the number of timers `advance` has looked at.
+     *
+     * Each call looks at the timers it expires and at most one more, the first one still waiting.
+     *
+     * @return The visit count since the wheel was created.
+     */
+    public long getVisited() {
+        return visited;
+    }
+}
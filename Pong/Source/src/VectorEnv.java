@@ -0,0 +1,318 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @brief Gym-style environment stepping many headless matches in lockstep.
+ *
+ * `reset(seed)` starts a fresh `Match` in every slot and `step(actions)` advances all of them by one
+ * tick. Results are written into arrays allocated once by the constructor:
+ * - `getObservations()`: `OBSERVATION_SIZE` floats per match (ball x, ball y, ball dx, ball dy,
+ *   player x, enemy x), positions normalised to the field size.
+ * - `getRewards()`: +1 when the player scored on that step, -1 when the enemy scored, 0 otherwise.
+ * - `getDones()`: 1 when a point ended on that step. The match keeps going, the ball is already
+ *   back in the centre as decided by `EntityWorld.scoringSystem`.
+ *
+ * With more than one thread the matches are split into contiguous slices and stepped in parallel;
+ * the calling thread steps the first slice itself. The threads meet at a `StepBarrier`, which
+ * reuses its state from step to step, so stepping allocates nothing however many threads there are.
+ */
+public class VectorEnv implements AutoCloseable {
+
+    public static final int OBSERVATION_SIZE = 6;   /**< @brief Floats per match in the observation array. */
+
+    private final int size;                         /**< @brief Number of matches. */
+    private final Match[] matches;                  /**< @brief The matches, one per slot. */
+    private final int[] lastPlayerScores;           /**< @brief Player score of every match before the step. */
+    private final int[] lastEnemyScores;            /**< @brief Enemy score of every match before the step. */
+
+    private final float[] observations;             /**< @brief Observation output. */
+    private final float[] rewards;                  /**< @brief Reward output. */
+    private final byte[] dones;                     /**< @brief Done flag output. */
+
+    private final int threads;                      /**< @brief Number of slices stepped in parallel. */
+    private final StepBarrier barrier;              /**< @brief Barrier releasing and collecting the workers. */
+    private int[] actions;                          /**< @brief Actions of the step in progress. */
+
+    /**
+     * @brief Constructs an environment stepped by the calling thread only.
+     *
+     * @param size Number of matches.
+     */
+    public VectorEnv(int size) {
+        this(size, 1);
+    }
+
+    /**
+     * @brief Constructs an environment stepped by the given number of threads.
+     *
+     * @param size Number of matches.
+     * @param threads Number of threads, including the caller of `step`.
+     */
+    public VectorEnv(int size, int threads) {
+        this.size = size;
+        this.threads = Math.max(1, Math.min(threads, size));
+        matches = new Match[size];
+        lastPlayerScores = new int[size];
+        lastEnemyScores = new int[size];
+        observations = new float[size * OBSERVATION_SIZE];
+        rewards = new float[size];
+        dones = new byte[size];
+
+        barrier = new StepBarrier(this.threads);
+        for (int slice = 1; slice < this.threads; slice++) {
+            final int worker = slice;
+            Thread thread = new Thread(() -> work(worker), "vector-env-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        reset(0);
+    }
+
+    /**
+     * @brief Benchmarks the environment from the command line.
+     *
+     * Usage: `VectorEnv [matches] [threads] [seconds]`.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        try (VectorEnv env = new VectorEnv(size, threads)) {
+            int[] actions = new int[size];
+            for (int i = 0; i < size; i++) {
+                actions[i] = i % 3;
+            }
+
+            long start = System.nanoTime();
+            long end = start + seconds * 1000000000L;
+            long steps = 0;
+            while (System.nanoTime() < end) {
+                env.step(actions);
+                steps += size;
+            }
+
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d matches, %d threads: %.0f env-steps/s%n", size, env.threads, steps / elapsed);
+        }
+    }
+
+    /**
+     * @brief Starts a new match in every slot.
+     *
+     * Slot `i` is seeded with `seed + i`, so the same seed always gives the same matches.
+     *
+     * @param seed Base seed of the matches.
+     */
+    public void reset(long seed) {
+        for (int i = 0; i < size; i++) {
+            matches[i] = new Match(seed + i);
+            lastPlayerScores[i] = 0;
+            lastEnemyScores[i] = 0;
+            rewards[i] = 0;
+            dones[i] = 0;
+            observe(i);
+        }
+    }
+
+    /**
+     * @brief Advances every match by one tick.
+     *
+     * @param actions One `Match` input per match.
+     */
+    public void step(int[] actions) {
+        if (actions.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " actions, got " + actions.length);
+        }
+
+        this.actions = actions;
+        if (threads > 1) {
+            barrier.await(0);                   // release the workers
+            stepSlice(0);
+            barrier.await(0);                   // wait for every slice
+        } else {
+            stepSlice(0);
+        }
+    }
+
+    /**
+     * @brief Loop of a worker thread stepping one slice per step.
+     *
+     * @param slice Index of the slice owned by the worker.
+     */
+    private void work(int slice) {
+        while (barrier.await(slice)) {
+            stepSlice(slice);
+            if (!barrier.await(slice)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @brief Steps the matches of one slice and writes their results.
+     *
+     * @param slice Index of the slice.
+     */
+    private void stepSlice(int slice) {
+        int from = (int) ((long) size * slice / threads);
+        int to = (int) ((long) size * (slice + 1) / threads);
+
+        for (int i = from; i < to; i++) {
+            Match match = matches[i];
+            match.tick(actions[i]);
+
+            int playerScore = match.getPlayerScore();
+            int enemyScore = match.getEnemyScore();
+            int scored = (playerScore - lastPlayerScores[i]) - (enemyScore - lastEnemyScores[i]);
+            boolean done = playerScore != lastPlayerScores[i] || enemyScore != lastEnemyScores[i];
+
+            rewards[i] = scored;
+            dones[i] = done ? (byte) 1 : (byte) 0;
+            lastPlayerScores[i] = playerScore;
+            lastEnemyScores[i] = enemyScore;
+            observe(i);
+        }
+    }
+
+    /**
+     * @brief Writes the observation of one match.
+     *
+     * @param i Index of the match.
+     */
+    private void observe(int i) {
+        EntityStore s = matches[i].world.store;
+        int base = i * OBSERVATION_SIZE;
+        observations[base] = (float) (s.x[EntityWorld.BALL] / Game.WIDTH);
+        observations[base + 1] = (float) (s.y[EntityWorld.BALL] / Game.HEIGHT);
+        observations[base + 2] = (float) s.dirX[EntityWorld.BALL];
+        observations[base + 3] = (float) s.dirY[EntityWorld.BALL];
+        observations[base + 4] = (float) s.x[EntityWorld.PLAYER] / Game.WIDTH;
+        observations[base + 5] = (float) (s.x[EntityWorld.ENEMY] / Game.WIDTH);
+    }
+
+    /**
+     * @brief Gets the number of matches.
+     *
+     * @return The number of matches.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @brief Gets the observation array, overwritten by every step.
+     *
+     * @return `OBSERVATION_SIZE` floats per match.
+     */
+    public float[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * @brief Gets the reward array, overwritten by every step.
+     *
+     * @return One reward per match.
+     */
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * @brief Gets the done array, overwritten by every step.
+     *
+     * @return One flag per match, 1 when a point ended on the last step.
+     */
+    public byte[] getDones() {
+        return dones;
+    }
+
+    /**
+     * @brief Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        barrier.terminate();
+    }
+
+    /**
+     * @brief Reusable barrier for a fixed set of parties that spins briefly, then parks.
+     *
+     * A `Phaser` allocates a wait node every time a thread has to block, which is most steps when
+     * the slices are small. Here each party has a fixed slot for its thread, and the last one to
+     * arrive advances a generation counter and unparks the others, so waiting allocates nothing.
+     */
+    static final class StepBarrier {
+
+        static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1 << 10 : 0; /**< @brief Spins before parking; none on a single processor. */
+
+        private final int parties;              /**< @brief Threads that must arrive to advance. */
+        private final Thread[] waiters;         /**< @brief Thread of each party, set at every arrival. */
+        private final AtomicInteger arrived = new AtomicInteger(); /**< @brief Parties arrived in this generation. */
+        private volatile int generation = 0;    /**< @brief Number of times the barrier advanced. */
+        private volatile boolean terminated = false; /**< @brief Set by `terminate`; releases every party for good. */
+
+        /**
+         * @brief Constructs a barrier.
+         *
+         * @param parties Threads that must arrive to advance.
+         */
+        StepBarrier(int parties) {
+            this.parties = parties;
+            waiters = new Thread[parties];
+        }
+
+        /**
+         * @brief Arrives and waits until every party has arrived.
+         *
+         * @param party Slot of the calling party, from 0 to `parties - 1`.
+         * @return False if the barrier was terminated.
+         */
+        boolean await(int party) {
+            int current = generation;
+            if (terminated) {
+                return false;
+            }
+            waiters[party] = Thread.currentThread();
+            if (arrived.incrementAndGet() == parties) {
+                arrived.set(0);
+                generation = current + 1;
+                wakeAll();
+                return true;
+            }
+
+            int spins = SPINS;
+            while (generation == current && !terminated) {
+                if (spins > 0) {
+                    spins--;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+            return !terminated;
+        }
+
+        /**
+         * @brief Releases every party now and at every later arrival.
+         */
+        void terminate() {
+            terminated = true;
+            wakeAll();
+        }
+
+        /**
+         * @brief Unparks the thread of every party.
+         */
+        private void wakeAll() {
+            for (Thread waiter : waiters) {
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+            }
+        }
+    }
+}
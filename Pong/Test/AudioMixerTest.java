@@ -0,0 +1,58 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+public class AudioMixerTest {
+
+    @Test
+    public void testFileSinkRecordsMixedSounds() throws Exception {
+        Path file = Files.createTempFile("pong-audio", ".wav");
+        try {
+            AudioMixer mixer = new AudioMixer(new AudioMixer.FileSink(file), AudioMixer.synthesize());
+            mixer.play(AudioMixer.SOUND_PADDLE);
+            mixer.play(AudioMixer.SOUND_SCORE);
+            while (mixer.getBlocks() < 20) {
+                Thread.sleep(5);
+            }
+            mixer.close();
+
+            assertEquals(2, mixer.getTriggers());
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(new File(file.toString()))) {
+                assertEquals(AudioMixer.SAMPLE_RATE, in.getFormat().getSampleRate(), 0f);
+                byte[] pcm = in.readAllBytes();
+                assertTrue(pcm.length >= 20 * AudioMixer.BLOCK_FRAMES * 2);
+
+                int loud = 0;
+                for (int i = 0; i < pcm.length; i += 2) {
+                    if (Math.abs((short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8))) > 1000) {
+                        loud++;
+                    }
+                }
+                assertTrue(loud > AudioMixer.BLOCK_FRAMES);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLatencyStaysWithinAFewBlocks() throws Exception {
+        AudioMixer mixer = new AudioMixer(new AudioMixer.NullSink(true), AudioMixer.synthesize());
+        for (int i = 0; i < 20; i++) {
+            mixer.play(AudioMixer.SOUND_WALL);
+            Thread.sleep(3);
+        }
+        while (mixer.getTriggers() < 20) {
+            Thread.sleep(5);
+        }
+        mixer.close();
+
+        assertTrue("average latency " + mixer.getAverageLatencyNanos(), mixer.getAverageLatencyNanos() < 50000000);
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ConfigWatcherTest {
+
+    private static GameConfig await(ConfigWatcher watcher) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            GameConfig config = watcher.take();
+            if (config != null) {
+                return config;
+            }
+            Thread.sleep(20);
+        }
+        return null;
+    }
+
+    @Test
+    public void testChangedFileIsReloaded() throws Exception {
+        Path dir = Files.createTempDirectory("pong-config");
+        Path file = dir.resolve("pong.properties");
+        Files.write(file, "frameRate = 60\n".getBytes());
+
+        try (ConfigWatcher watcher = new ConfigWatcher(file)) {
+            assertNull(watcher.take());
+
+            Files.write(file, "frameRate = 30\n".getBytes());
+            GameConfig config = await(watcher);
+
+            assertNotNull(config);
+            assertEquals(30, config.frameRate);
+            assertNull(watcher.take());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBrokenFileKeepsNothingPending() throws Exception {
+        Path dir = Files.createTempDirectory("pong-config");
+        Path file = dir.resolve("pong.properties");
+        Files.write(file, "frameRate = 60\n".getBytes());
+
+        try (ConfigWatcher watcher = new ConfigWatcher(file)) {
+            Files.write(file, "frameRate = fast\n".getBytes());
+            while (watcher.getFailures() == 0) {
+                Thread.sleep(20);
+            }
+            assertNull(watcher.take());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testEmptyFileIsRejected() throws Exception {
+        Path dir = Files.createTempDirectory("pong-config");
+        Path file = dir.resolve("pong.properties");
+        Files.write(file, "frameRate = 60\n".getBytes());
+
+        try (ConfigWatcher watcher = new ConfigWatcher(file)) {
+            Files.write(file, new byte[0]);
+            while (watcher.getFailures() == 0) {
+                Thread.sleep(20);
+            }
+            assertNull(watcher.take());
+            assertEquals(0, watcher.getReloads());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testFileWithoutProfileKeysKeepsDefaultProfile() throws Exception {
+        Path dir = Files.createTempDirectory("pong-config");
+        Path file = dir.resolve("pong.properties");
+        Files.write(file, "frameRate = 60\n".getBytes());
+        java.util.Properties slow = new java.util.Properties();
+        slow.setProperty("levels", "0.5");
+        SpeedProfile profile = new SpeedProfile(slow);
+        SpeedProfile.setDefault(profile);
+
+        try (ConfigWatcher watcher = new ConfigWatcher(file)) {
+            Files.write(file, "frameRate = 30\n".getBytes());
+            GameConfig config = await(watcher);
+
+            assertNotNull(config);
+            assertSame(profile, config.profile);
+        } finally {
+            SpeedProfile.setDefault(SpeedProfile.builtIn());
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
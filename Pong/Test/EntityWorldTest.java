@@ -0,0 +1,200 @@
+import org.junit.Test;
+import org.mockito.Mockito;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Properties;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class EntityWorldTest {
+
+    @Test
+    public void testClassicPlaysLikeMatch() {
+        Match match = new Match(7);
+        EntityWorld world = EntityWorld.classic(7);
+
+        for (int t = 0; t < 50000; t++) {
+            int input = (t / 40) % 3;
+            match.tick(input);
+            world.tick(input);
+        }
+
+        assertTrue(match.getPlayerScore() + match.getEnemyScore() > 0);
+        assertEquals(match.getPlayerScore(), world.getPlayerScore());
+        assertEquals(match.getEnemyScore(), world.getEnemyScore());
+        assertEquals(match.world.store.x(EntityWorld.BALL), world.store.x(EntityWorld.BALL), 0.0);
+        assertEquals(match.world.store.y(EntityWorld.BALL), world.store.y(EntityWorld.BALL), 0.0);
+        assertEquals(match.world.store.x(EntityWorld.ENEMY), world.store.x(EntityWorld.ENEMY), 0.0);
+    }
+
+    @Test
+    public void testBallStartsInTheMiddleAndMoves() {
+        EntityWorld world = EntityWorld.classic(1);
+        EntityStore s = world.store;
+        assertEquals(Game.WIDTH / 2, s.x(EntityWorld.BALL), 0.0);
+        assertEquals(Game.HEIGHT / 2, s.y(EntityWorld.BALL), 0.0);
+        assertTrue(Math.abs(s.dirX[EntityWorld.BALL]) <= 1 && Math.abs(s.dirY[EntityWorld.BALL]) <= 1);
+
+        world.tick(Match.INPUT_NONE);
+
+        assertNotEquals(Game.WIDTH / 2, s.x(EntityWorld.BALL), 0.001);
+        assertNotEquals(Game.HEIGHT / 2, s.y(EntityWorld.BALL), 0.001);
+    }
+
+    @Test
+    public void testPaddlesSendBallBack() {
+        EntityWorld world = EntityWorld.classic(1);
+        EntityStore s = world.store;
+        s.x[EntityWorld.BALL] = s.x(EntityWorld.PLAYER) + EntityWorld.PADDLE_WIDTH / 2;
+        s.y[EntityWorld.BALL] = s.y(EntityWorld.PLAYER) - 1;
+
+        world.tick(Match.INPUT_NONE);
+        assertTrue(s.dirY[EntityWorld.BALL] < 0);
+        assertEquals(1, world.getPaddleBounces());
+
+        s.x[EntityWorld.BALL] = s.x(EntityWorld.ENEMY) + EntityWorld.PADDLE_WIDTH / 2;
+        s.y[EntityWorld.BALL] = s.y(EntityWorld.ENEMY) + 1;
+
+        world.tick(Match.INPUT_NONE);
+        assertTrue(s.dirY[EntityWorld.BALL] > 0);
+        assertEquals(2, world.getPaddleBounces());
+    }
+
+    @Test
+    public void testSideWallBouncesBall() {
+        EntityWorld world = EntityWorld.classic(1);
+        EntityStore s = world.store;
+        int ball = EntityWorld.BALL;
+        s.x[ball] = Game.WIDTH - EntityWorld.BALL_SIZE / 2 - 1;
+        s.dirX[ball] = Math.abs(s.dirX[ball]);
+        s.vx[ball] = Math.abs(s.vx[ball]);
+        double dirY = s.dirY[ball];
+
+        world.tick(Match.INPUT_NONE);
+
+        assertTrue(s.dirX[ball] < 0);
+        assertEquals(dirY, s.dirY[ball], 0.0);
+        assertEquals(1, world.getWallBounces());
+    }
+
+    @Test
+    public void testScoringNotifiesObservers() {
+        EntityWorld world = EntityWorld.classic(1);
+        ScoreObserver observer = Mockito.mock(ScoreObserver.class);
+        world.addObserver(observer);
+
+        world.store.y[EntityWorld.BALL] = Game.HEIGHT + 5;
+        world.tick(Match.INPUT_NONE);
+        assertEquals(1, world.getEnemyScore());
+        assertEquals(0, world.getPlayerScore());
+        Mockito.verify(observer).updateScore(0, 1);
+        assertEquals(Game.HEIGHT / 2, world.store.y(EntityWorld.BALL), 1.0);
+
+        world.store.y[EntityWorld.BALL] = -5;
+        world.tick(Match.INPUT_NONE);
+        assertEquals(1, world.getPlayerScore());
+        Mockito.verify(observer).updateScore(1, 1);
+    }
+
+    @Test
+    public void testTrackingIsClampedToField() {
+        EntityWorld world = EntityWorld.classic(1);
+        EntityStore s = world.store;
+
+        s.x[EntityWorld.BALL] = (int) ((Game.WIDTH - EntityWorld.PADDLE_WIDTH + 1) / EntityWorld.DIFFICULTY);
+        world.trackingSystem();
+        assertEquals(Game.WIDTH - EntityWorld.PADDLE_WIDTH, s.x(EntityWorld.ENEMY), 0.2);
+
+        s.x[EntityWorld.BALL] = -10;
+        world.trackingSystem();
+        assertEquals(0, s.x(EntityWorld.ENEMY), 0.2);
+    }
+
+    @Test
+    public void testTrackingFollowsNearestBall() {
+        EntityWorld world = new EntityWorld(new Random(1), SpeedProfile.builtIn(), 8);
+        int top = world.addPaddle(0, 0, EntityWorld.PADDLE_WIDTH, EntityStore.CONTROL_TRACK, 1.0);
+        int bottom = world.addPaddle(0, 155, EntityWorld.PADDLE_WIDTH, EntityStore.CONTROL_TRACK, 1.0);
+        int[] xs = {50, 150, 10};
+        int[] ys = {100, 20, 20};
+        for (int i = 0; i < xs.length; i++) {
+            int b = world.addBall();
+            world.store.x[b] = xs[i];
+            world.store.y[b] = ys[i];
+        }
+
+        world.trackingSystem();
+
+        // Two balls are equally close to the top paddle; the first one added wins
+        assertEquals(150, world.store.x(top), 0.0);
+        assertEquals(50, world.store.x(bottom), 0.0);
+    }
+
+    @Test
+    public void testPaddlesStayOnField() {
+        EntityWorld world = EntityWorld.classic(1);
+        for (int t = 0; t < 500; t++) {
+            world.tick(Match.INPUT_RIGHT);
+        }
+        assertEquals(Game.WIDTH - EntityWorld.PADDLE_WIDTH, world.store.x(0), 0.0);
+
+        for (int t = 0; t < 500; t++) {
+            world.tick(Match.INPUT_LEFT);
+            assertTrue(world.store.x(1) >= 0 && world.store.x(1) <= Game.WIDTH - EntityWorld.PADDLE_WIDTH);
+        }
+        assertEquals(0, world.store.x(0), 0.0);
+    }
+
+    @Test
+    public void testObstacleBouncesBall() {
+        EntityWorld world = EntityWorld.classic(3);
+        int ball = 2;
+        boolean upwards = world.store.vy[ball] < 0;
+        int y = upwards ? Game.HEIGHT / 2 - 12 : Game.HEIGHT / 2 + 10;
+        world.addObstacle(0, y, Game.WIDTH, 2);
+
+        int t = 0;
+        while (upwards == world.store.vy[ball] < 0 && t++ < 200) {
+            world.tick(Match.INPUT_NONE);
+        }
+
+        assertTrue(t < 200);
+        assertEquals(upwards, world.store.y(ball) > y);
+        assertEquals(0, world.getPlayerScore() + world.getEnemyScore());
+    }
+
+    @Test
+    public void testStoreGrowsAndRemovesBySwapping() {
+        EntityStore store = new EntityStore(1);
+        for (int i = 0; i < 10; i++) {
+            store.create(EntityStore.KIND_OBSTACLE, EntityStore.CONTROL_NONE, i, 0, 1, 1, 0);
+        }
+        assertEquals(10, store.size());
+
+        store.remove(2);
+        assertEquals(9, store.size());
+        assertEquals(9, store.x(2), 0.0);
+        assertEquals(8, store.x(8), 0.0);
+    }
+
+    @Test
+    public void testFrameDrawsBallInLevelColor() {
+        Properties properties = new Properties();
+        properties.setProperty("levels", "1.0");
+        properties.setProperty("colors", "00FF00");
+        EntityWorld world = new EntityWorld(new Random(1), new SpeedProfile(properties), 4);
+        world.addPaddle(100, 155, EntityWorld.PADDLE_WIDTH, EntityStore.CONTROL_INPUT, 0);
+        int ball = world.addBall();
+        assertSame(world.color(ball), world.color(ball));
+
+        StateFrame frame = new StateFrame();
+        frame.capture(0, world);
+        BufferedImage image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        new FrameRenderer().drawField(g, frame);
+        g.dispose();
+
+        assertEquals(0x00FF00, image.getRGB(Game.WIDTH / 2 + 2, Game.HEIGHT / 2 + 2) & 0xFFFFFF);
+        assertEquals(0xFFFFFF, image.getRGB(110, 157) & 0xFFFFFF);
+    }
+}
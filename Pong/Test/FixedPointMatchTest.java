@@ -0,0 +1,78 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FixedPointMatchTest {
+
+    @Test
+    public void testTablesAreExact() {
+        assertEquals(FixedPoint.ONE, FixedPoint.sin(90));
+        assertEquals(0, FixedPoint.sin(0));
+        assertEquals(-FixedPoint.ONE, FixedPoint.cos(180));
+        assertEquals(3 * FixedPoint.ONE / 2, FixedPoint.mul(FixedPoint.fromInt(3), FixedPoint.ONE / 2));
+        assertEquals(-2, FixedPoint.toPixel(FixedPoint.fromDouble(-2.5)));
+    }
+
+    @Test
+    public void testSameSeedIsBitIdentical() {
+        FixedPointMatch first = new FixedPointMatch(5);
+        FixedPointMatch second = new FixedPointMatch(5);
+
+        for (int i = 0; i < 50000; i++) {
+            first.tick(i % 3);
+            second.tick(i % 3);
+        }
+
+        assertEquals(first.stateHash(), second.stateHash());
+    }
+
+    @Test
+    public void testGoldenHash() {
+        FixedPointMatch match = new FixedPointMatch(42);
+
+        for (int i = 0; i < 100000; i++) {
+            match.tick(i % 3);
+        }
+
+        // Recorded once; any JVM on any CPU must reproduce it exactly
+        assertEquals(0x695598c50ed15f54L, match.stateHash());
+        assertEquals(56, match.getEnemyScore());
+    }
+
+    @Test
+    public void testStaysCloseToDoubleMode() {
+        for (long seed = 0; seed < 20; seed++) {
+            Match reference = new Match(seed);
+            FixedPointMatch fixed = new FixedPointMatch(seed);
+
+            for (int i = 0; i < 2000; i++) {
+                reference.tick(i % 3);
+                fixed.tick(i % 3);
+
+                // Rounding differences only grow into a different bounce after thousands of ticks
+                assertEquals(reference.world.store.x[EntityWorld.BALL], FixedPoint.toDouble(fixed.ball.x), 1.0);
+                assertEquals(reference.world.store.y[EntityWorld.BALL], FixedPoint.toDouble(fixed.ball.y), 1.0);
+                assertEquals(reference.getEnemyScore(), fixed.getEnemyScore());
+            }
+        }
+    }
+
+    @Test
+    public void testScoringRateMatchesDoubleMode() {
+        int referencePoints = 0;
+        int fixedPoints = 0;
+
+        for (long seed = 0; seed < 10; seed++) {
+            Match reference = new Match(seed);
+            FixedPointMatch fixed = new FixedPointMatch(seed);
+            for (int i = 0; i < 100000; i++) {
+                reference.tick(i % 3);
+                fixed.tick(i % 3);
+            }
+            referencePoints += reference.getPlayerScore() + reference.getEnemyScore();
+            fixedPoints += fixed.getPlayerScore() + fixed.getEnemyScore();
+        }
+
+        // Once diverged the matches differ, but the game plays the same on average
+        assertEquals(referencePoints, fixedPoints, referencePoints * 0.1);
+    }
+}
@@ -0,0 +1,51 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class FrameEffectsTest {
+
+    @Test
+    public void testEventsEmitParticles() {
+        EntityWorld world = EntityWorld.classic(new Random(5), SpeedProfile.builtIn());
+        StateFrame frame = new StateFrame();
+        FrameEffects effects = new FrameEffects(4096);
+
+        frame.capture(0, world);
+        effects.update(frame);
+        assertFalse(effects.isActive());
+
+        world.tick(Match.INPUT_NONE);
+        world.tick(Match.INPUT_NONE);
+        frame.capture(2, world);
+        effects.update(frame);
+        int trail = effects.getParticles().size();
+
+        frame.paddleBounces++;
+        frame.tick++;
+        effects.update(frame);
+        assertTrue(effects.getParticles().size() > trail + 10);
+
+        frame.playerScore++;
+        frame.tick++;
+        effects.update(frame);
+        assertTrue(effects.getParticles().size() > 150);
+    }
+
+    @Test
+    public void testNewMatchClearsParticles() {
+        StateFrame frame = new StateFrame();
+        FrameEffects effects = new FrameEffects(4096);
+        effects.update(frame);
+
+        frame.tick = 10;
+        frame.enemyScore = 1;
+        effects.update(frame);
+        assertTrue(effects.isActive());
+
+        frame.tick = 0;
+        frame.enemyScore = 0;
+        effects.update(frame);
+        assertFalse(effects.isActive());
+    }
+}
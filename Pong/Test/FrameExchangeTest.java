@@ -0,0 +1,75 @@
+import org.junit.Test;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+
+public class FrameExchangeTest {
+
+    private static void fill(StateFrame frame, int value) {
+        frame.tick = value;
+        frame.ballX = value;
+        frame.ballY = value;
+        frame.x[0] = value;
+        frame.x[1] = value;
+        frame.playerScore = value;
+    }
+
+    @Test
+    public void testLatestReturnsLastPublishedFrame() {
+        FrameExchange exchange = new FrameExchange();
+
+        fill(exchange.back(), 1);
+        exchange.publish();
+        fill(exchange.back(), 2);
+        exchange.publish();
+
+        assertEquals(2, exchange.latest().tick);
+        // Without a new publish the reader keeps the same frame
+        assertEquals(2, exchange.latest().tick);
+    }
+
+    @Test
+    public void testWriterNeverTouchesReaderFrame() {
+        FrameExchange exchange = new FrameExchange();
+        fill(exchange.back(), 1);
+        exchange.publish();
+        StateFrame read = exchange.latest();
+
+        for (int i = 2; i < 10; i++) {
+            fill(exchange.back(), i);
+            exchange.publish();
+            assertNotSame(read, exchange.back());
+        }
+        assertEquals(1, read.tick);
+    }
+
+    @Test
+    public void testConcurrentReaderNeverSeesTornFrame() throws Exception {
+        FrameExchange exchange = new FrameExchange();
+        AtomicBoolean torn = new AtomicBoolean(false);
+        AtomicBoolean done = new AtomicBoolean(false);
+
+        Thread reader = new Thread(() -> {
+            long last = 0;
+            while (!done.get()) {
+                StateFrame frame = exchange.latest();
+                int value = (int) frame.tick;
+                if (frame.ballX != value || frame.ballY != value || frame.x[0] != value
+                        || frame.x[1] != value || frame.playerScore != value || value < last) {
+                    torn.set(true);
+                }
+                last = value;
+            }
+        });
+        reader.start();
+
+        for (int i = 1; i <= 2000000; i++) {
+            fill(exchange.back(), i);
+            exchange.publish();
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(torn.get());
+        assertEquals(2000000, exchange.latest().tick);
+    }
+}
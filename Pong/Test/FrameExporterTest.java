@@ -0,0 +1,132 @@
+import org.junit.Test;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.ByteBuffer;
+import static org.junit.Assert.*;
+
+public class FrameExporterTest {
+
+    private BufferedImage frame(Color color) {
+        BufferedImage image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, Game.WIDTH, Game.HEIGHT);
+        g.dispose();
+        return image;
+    }
+
+    @Test
+    public void testRgbExport() {
+        FrameExporter exporter = new FrameExporter(1, false, 1);
+        exporter.export(frame(new Color(10, 20, 30)));
+
+        ByteBuffer buffer = exporter.getBuffer();
+        int offset = exporter.frameOffset(0);
+        assertTrue(buffer.isDirect());
+        assertEquals(Game.WIDTH * Game.HEIGHT * 3, exporter.getFrameBytes());
+        assertEquals(10, buffer.get(offset));
+        assertEquals(20, buffer.get(offset + 1));
+        assertEquals(30, buffer.get(offset + 2));
+        assertEquals(1, buffer.getLong(0));
+    }
+
+    @Test
+    public void testDownsampledGrayscaleExport() {
+        FrameExporter exporter = new FrameExporter(2, true, 1);
+        exporter.export(frame(Color.WHITE));
+
+        assertEquals(Game.WIDTH / 2, exporter.getWidth());
+        assertEquals(Game.HEIGHT / 2, exporter.getHeight());
+        assertEquals(Game.WIDTH / 2 * Game.HEIGHT / 2, exporter.getFrameBytes());
+        assertEquals(255, exporter.getBuffer().get(exporter.frameOffset(0)) & 0xFF);
+    }
+
+    @Test
+    public void testFrameStacking() {
+        FrameExporter exporter = new FrameExporter(4, true, 3);
+        exporter.export(frame(Color.BLACK));
+        exporter.export(frame(Color.WHITE));
+
+        // The newest frame is white, the one before it black
+        ByteBuffer buffer = exporter.getBuffer();
+        assertEquals(255, buffer.get(exporter.frameOffset(0)) & 0xFF);
+        assertEquals(0, buffer.get(exporter.frameOffset(1)) & 0xFF);
+        assertEquals(2, exporter.getFrameCount());
+    }
+
+    @Test
+    public void testMappedFileExport() throws Exception {
+        File file = File.createTempFile("frames", ".bin");
+        file.deleteOnExit();
+
+        FrameExporter exporter = new FrameExporter(file.toPath(), 1, true, 2);
+        exporter.export(frame(Color.WHITE));
+
+        assertEquals(FrameExporter.HEADER_BYTES + 2 * (FrameExporter.SLOT_HEADER_BYTES + exporter.getFrameBytes()), file.length());
+        assertEquals(1, exporter.getBuffer().getLong(0));
+        assertEquals(Game.WIDTH, exporter.getBuffer().getInt(8));
+    }
+
+    @Test
+    public void testSlotSequenceNumbers() {
+        FrameExporter exporter = new FrameExporter(4, true, 2);
+        ByteBuffer buffer = exporter.getBuffer();
+        byte[] copy = new byte[exporter.getFrameBytes()];
+        exporter.export(frame(Color.WHITE));
+        exporter.export(frame(Color.BLACK));
+        exporter.export(frame(Color.WHITE));
+
+        // Frame 2 overwrote frame 0 in the first slot, frame 1 is still in the second
+        assertEquals(6, buffer.getLong(exporter.frameOffset(0) - FrameExporter.SLOT_HEADER_BYTES));
+        assertEquals(4, buffer.getLong(exporter.frameOffset(1) - FrameExporter.SLOT_HEADER_BYTES));
+        assertTrue(exporter.copyFrame(1, copy));
+        assertEquals(0, copy[0]);
+
+        // A copy that raced with a rewrite of its slot is reported
+        buffer.putLong(exporter.frameOffset(0) - FrameExporter.SLOT_HEADER_BYTES, 7);
+        assertFalse(exporter.copyFrame(0, copy));
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentReaderNeverKeepsATornFrame() throws Exception {
+        FrameExporter exporter = new FrameExporter(2, true, 1);
+        BufferedImage white = frame(Color.WHITE);
+        BufferedImage black = frame(Color.BLACK);
+        exporter.export(black);
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                exporter.export((i & 1) == 0 ? white : black);
+            }
+        });
+        writer.start();
+
+        byte[] copy = new byte[exporter.getFrameBytes()];
+        int kept = 0;
+        while (writer.isAlive() || kept == 0) {
+            if (exporter.copyFrame(0, copy)) {
+                kept++;
+                for (byte b : copy) {
+                    assertEquals(copy[0], b);
+                }
+            }
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testHeadlessGameFrame() {
+        Game game = new Game();
+        game.start();
+        BufferedImage image = game.renderFrame();
+
+        FrameExporter exporter = new FrameExporter(1, true, 1);
+        exporter.export(image);
+
+        // The dashed centre line is drawn in white
+        int offset = exporter.frameOffset(0) + (Game.HEIGHT / 2) * Game.WIDTH;
+        assertEquals(255, exporter.getBuffer().get(offset) & 0xFF);
+    }
+}
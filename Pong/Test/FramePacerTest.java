@@ -0,0 +1,101 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FramePacerTest {
+
+    private static final long FRAME = 16666666;
+    private static final long TICK = 4166666;
+
+    private long clock = 0;
+
+    /** Feeds one frame of the given cost and simulation lag to the pacer on the fake clock. */
+    private boolean frame(FramePacer pacer, long cost, long lag) {
+        long start = clock;
+        clock += cost;
+        boolean changed = pacer.frameDone(start, clock, lag, FRAME, TICK);
+        clock = start + pacer.frameInterval(FRAME);
+        return changed;
+    }
+
+    @Test
+    public void testOverloadSkipsRendersBeforeLoweringQuality() {
+        FramePacer pacer = new FramePacer();
+
+        for (int level = 1; level <= FramePacer.MAX_LEVEL; level++) {
+            for (int i = 0; i < FramePacer.DEGRADE_AFTER; i++) {
+                frame(pacer, FRAME / 10, 3 * TICK);
+            }
+            assertEquals(level, pacer.getLevel());
+            if (pacer.getSkip() < FramePacer.MAX_SKIP) {
+                assertEquals(FramePacer.QUALITY_FULL, pacer.getQuality());
+            }
+        }
+        assertEquals(FramePacer.QUALITY_MINIMAL, pacer.getQuality());
+        assertEquals(4 * FRAME, pacer.frameInterval(FRAME));
+
+        frame(pacer, FRAME / 10, 3 * TICK);
+        assertEquals(FramePacer.MAX_LEVEL, pacer.getLevel());
+    }
+
+    @Test
+    public void testExpensiveFramesCountAsOverload() {
+        FramePacer pacer = new FramePacer();
+
+        for (int i = 0; i < FramePacer.DEGRADE_AFTER; i++) {
+            frame(pacer, FRAME, 0);
+        }
+        assertEquals(1, pacer.getSkip());
+        assertEquals(FramePacer.QUALITY_FULL, pacer.getQuality());
+    }
+
+    @Test
+    public void testRecoversOneLevelAtATime() {
+        FramePacer pacer = new FramePacer();
+        for (int i = 0; i < FramePacer.DEGRADE_AFTER * FramePacer.MAX_LEVEL; i++) {
+            frame(pacer, FRAME / 10, 3 * TICK);
+        }
+        assertEquals(FramePacer.MAX_LEVEL, pacer.getLevel());
+
+        for (int i = 0; i < FramePacer.RECOVER_AFTER - 1; i++) {
+            assertFalse(frame(pacer, FRAME / 10, 0));
+        }
+        // Quality comes back first, then the skipped frames
+        assertTrue(frame(pacer, FRAME / 10, 0));
+        assertEquals(FramePacer.QUALITY_REDUCED, pacer.getQuality());
+
+        for (int i = 0; i < FramePacer.RECOVER_AFTER * (FramePacer.MAX_LEVEL - 1); i++) {
+            frame(pacer, FRAME / 10, 0);
+        }
+        assertEquals(0, pacer.getLevel());
+        assertEquals(FramePacer.MAX_LEVEL, pacer.getRecoveries());
+        assertEquals(FramePacer.MAX_LEVEL, pacer.getDegrades());
+    }
+
+    @Test
+    public void testFramesBetweenThresholdsHoldTheLevel() {
+        FramePacer pacer = new FramePacer();
+        for (int i = 0; i < FramePacer.DEGRADE_AFTER; i++) {
+            frame(pacer, FRAME / 10, 3 * TICK);
+        }
+
+        for (int i = 0; i < 10 * FramePacer.RECOVER_AFTER; i++) {
+            frame(pacer, FRAME / 2, TICK / 2);
+        }
+        assertEquals(1, pacer.getLevel());
+    }
+
+    @Test
+    public void testCountsSkippedFrames() {
+        FramePacer pacer = new FramePacer();
+        for (int i = 0; i < FramePacer.DEGRADE_AFTER; i++) {
+            frame(pacer, FRAME / 10, 3 * TICK);
+        }
+        for (int i = 0; i < 5; i++) {
+            frame(pacer, FRAME / 10, 0);
+        }
+
+        assertEquals(FramePacer.DEGRADE_AFTER + 5, pacer.getFramesShown());
+        assertEquals(5, pacer.getFramesSkipped());
+        assertEquals(3 * TICK, pacer.getMaxLagNanos());
+    }
+}
@@ -0,0 +1,161 @@
+import org.junit.Test;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import static org.junit.Assert.*;
+
+public class FrameRecorderTest {
+
+    private final BufferedImage image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+    /**
+     * Sink that blocks on its first frame until released, standing in for a slow encoder.
+     */
+    private static class StalledSink implements FrameRecorder.FrameSink {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        int frames = 0;
+
+        @Override
+        public void write(int[] pixels) throws IOException {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            frames++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void testRawSinkWritesEveryFrame() throws Exception {
+        Path directory = Files.createTempDirectory("frames");
+        FrameRecorder recorder = new FrameRecorder(new FrameRecorder.RawSink(directory), 4, 1, FrameRecorder.DropPolicy.DROP_NEWEST);
+
+        for (int i = 0; i < 3; i++) {
+            image.setRGB(0, 0, 0x102030);
+            assertTrue(recorder.capture(image));
+            Thread.sleep(20);
+        }
+        recorder.close();
+
+        File first = directory.resolve("frame-000000.rgb").toFile();
+        byte[] bytes = Files.readAllBytes(first.toPath());
+        assertEquals(Game.WIDTH * Game.HEIGHT * 3, bytes.length);
+        assertEquals(0x10, bytes[0]);
+        assertEquals(0x20, bytes[1]);
+        assertEquals(0x30, bytes[2]);
+        assertEquals(3, recorder.getRecordedFrames());
+    }
+
+    @Test
+    public void testFramesAreDroppedInsteadOfBlocking() throws Exception {
+        StalledSink sink = new StalledSink();
+        FrameRecorder recorder = new FrameRecorder(sink, 2, 1, FrameRecorder.DropPolicy.DROP_NEWEST);
+
+        assertTrue(recorder.capture(image));
+        sink.started.await();
+
+        // One buffer is held by the stalled encoder, one is free, the rest must be dropped
+        assertTrue(recorder.capture(image));
+        assertFalse(recorder.capture(image));
+        assertFalse(recorder.capture(image));
+        assertEquals(2, recorder.getDroppedFrames());
+
+        sink.release.countDown();
+        recorder.close();
+        assertEquals(2, sink.frames);
+    }
+
+    @Test
+    public void testDropOldestKeepsLatestFrame() throws Exception {
+        StalledSink sink = new StalledSink();
+        FrameRecorder recorder = new FrameRecorder(sink, 2, 1, FrameRecorder.DropPolicy.DROP_OLDEST);
+
+        assertTrue(recorder.capture(image));
+        sink.started.await();
+        assertTrue(recorder.capture(image));
+        assertTrue(recorder.capture(image));
+        assertEquals(1, recorder.getDroppedFrames());
+
+        sink.release.countDown();
+        recorder.close();
+        assertEquals(2, sink.frames);
+    }
+
+    @Test(timeout = 10000)
+    public void testCloseDuringDropOldestStopsEncoder() throws Exception {
+        StalledSink sink = new StalledSink();
+        FrameRecorder recorder = new FrameRecorder(sink, 2, 1, FrameRecorder.DropPolicy.DROP_OLDEST);
+        assertTrue(recorder.capture(image));
+        sink.started.await();
+        assertTrue(recorder.capture(image));
+
+        Thread closer = new Thread(() -> {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        closer.start();
+        // Keep replacing the oldest frame until the recorder refuses; the end marker must survive
+        while (recorder.capture(image)) {
+            Thread.sleep(1);
+        }
+        long dropped = recorder.getDroppedFrames();
+        assertFalse(recorder.capture(image));
+        assertEquals(dropped + 1, recorder.getDroppedFrames());
+
+        sink.release.countDown();
+        closer.join();
+        assertEquals(2, sink.frames);
+        recorder.close();
+    }
+
+    @Test
+    public void testFrameInterval() throws Exception {
+        StalledSink sink = new StalledSink();
+        sink.release.countDown();
+        FrameRecorder recorder = new FrameRecorder(sink, 8, 4, FrameRecorder.DropPolicy.DROP_NEWEST);
+
+        for (int i = 0; i < 8; i++) {
+            recorder.capture(image);
+        }
+        recorder.close();
+
+        assertEquals(2, sink.frames);
+    }
+
+    @Test
+    public void testGifSinkWritesAnimation() throws Exception {
+        File file = File.createTempFile("clip", ".gif");
+        file.deleteOnExit();
+
+        FrameRecorder recorder = new FrameRecorder(new FrameRecorder.GifSink(file.toPath(), 20), 4, 1, FrameRecorder.DropPolicy.DROP_NEWEST);
+        for (int i = 0; i < 3; i++) {
+            image.setRGB(i, i, 0xFFFFFF);
+            recorder.capture(image);
+            Thread.sleep(50);
+        }
+        recorder.close();
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            reader.setInput(input);
+            assertEquals(3, reader.getNumImages(true));
+            assertEquals(Game.WIDTH, reader.getWidth(0));
+        }
+    }
+}
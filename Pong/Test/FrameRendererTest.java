@@ -0,0 +1,24 @@
+import org.junit.Test;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import static org.junit.Assert.*;
+
+public class FrameRendererTest {
+
+    @Test
+    public void testMenuFontIsLoadedOnlyForTheMenu() {
+        FrameRenderer renderer = new FrameRenderer();
+        Match match = new Match(1);
+        StateFrame frame = new StateFrame();
+        frame.capture(0, match.world);
+        BufferedImage image = new BufferedImage(Game.WIDTH, Game.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+
+        renderer.draw(g, frame, false, new String[] {"Resume"}, 0);
+        assertNull(renderer.menuFont);
+
+        renderer.draw(g, frame, true, new String[] {"Resume"}, 0);
+        assertNotNull(renderer.menuFont);
+        g.dispose();
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+public class GameConfigTest {
+
+    @Test
+    public void testDefaultsMatchOriginalConstants() {
+        GameConfig config = GameConfig.defaults();
+
+        assertEquals(240, config.tickRate);
+        assertEquals(1000000000L / 60, config.frameNanos);
+        assertEquals(0.7, config.difficulty, 0.0);
+        assertEquals(40, config.playerWidth);
+        assertTrue(config.powerUps);
+        assertSame(SpeedProfile.builtIn(), config.profile);
+    }
+
+    @Test
+    public void testPowerUpsFlag() {
+        Properties properties = new Properties();
+        properties.setProperty("powerUps", " False ");
+        assertFalse(new GameConfig(properties, SpeedProfile.builtIn()).powerUps);
+
+        properties.setProperty("powerUps", "maybe");
+        try {
+            new GameConfig(properties, SpeedProfile.builtIn());
+            fail("A malformed flag must be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testLoadReadsSettingsAndProfile() throws Exception {
+        Path file = Files.createTempFile("pong", ".properties");
+        try {
+            Files.write(file, "tickRate = 120\nenemyWidth = 30\nlevels = 0.5, 2.0\n".getBytes());
+            GameConfig config = GameConfig.load(file);
+
+            assertEquals(120, config.tickRate);
+            assertEquals(1000000000L / 120, config.tickNanos);
+            assertEquals(30, config.enemyWidth);
+            assertEquals(2, config.profile.levelCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testParseKeepsProfileWithoutProfileKeys() {
+        SpeedProfile current = new SpeedProfile(new Properties());
+
+        assertSame(current, GameConfig.parse("frameRate = 30\n".getBytes(), current).profile);
+        assertEquals(1, GameConfig.parse("levels = 0.5\n".getBytes(), current).profile.levelCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsEmptyText() {
+        GameConfig.parse("# nothing here\n".getBytes(), SpeedProfile.builtIn());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOutOfRangeValues() {
+        Properties properties = new Properties();
+        properties.setProperty("frameRate", "0");
+        new GameConfig(properties, SpeedProfile.builtIn());
+    }
+
+    @Test
+    public void testDifficultyStaysBetweenZeroAndOne() {
+        Properties properties = new Properties();
+        properties.setProperty("difficulty", "1");
+        assertEquals(1.0, new GameConfig(properties, SpeedProfile.builtIn()).difficulty, 0.0);
+
+        properties.setProperty("difficulty", "1.01");
+        try {
+            new GameConfig(properties, SpeedProfile.builtIn());
+            fail("A difficulty above 1 overshoots the ball and must be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
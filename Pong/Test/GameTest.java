@@ -1,6 +1,9 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 
 public class GameTest {
 
@@ -39,4 +42,310 @@ public class GameTest {
         game.keyReleased(keyEvent);
         assertFalse(game.leftPressedPlayer);
     }
+
+    @Test
+    public void testTickMovesBall() {
+        Game game = new Game();
+        game.start();
+        double initialY = game.world.store.y[EntityWorld.BALL];
+
+        game.tick();
+
+        assertNotEquals(initialY, game.world.store.y[EntityWorld.BALL], 0.001);
+    }
+
+    @Test
+    public void testPausedTickKeepsState() {
+        Game game = new Game();
+        game.start();
+        game.isPaused = true;
+        double initialX = game.world.store.x[EntityWorld.BALL];
+        double initialY = game.world.store.y[EntityWorld.BALL];
+
+        game.tick();
+
+        // Nothing moves while paused, so there is nothing new to render
+        assertEquals(initialX, game.world.store.x[EntityWorld.BALL], 0.0);
+        assertEquals(initialY, game.world.store.y[EntityWorld.BALL], 0.0);
+    }
+
+    private static double[] playSeeded(int timeScale, int steps) {
+        Game game = new Game();
+        game.start(new java.util.Random(3));
+        game.setTimeScale(timeScale);
+
+        long now = 0;
+        game.resetClock(now);
+        for (int i = 0; i < steps; i++) {
+            now += GameConfig.defaults().tickNanos * 16;
+            game.runDueTicks(now);
+        }
+        EntityStore s = game.world.store;
+        return new double[] {s.x[EntityWorld.BALL], s.y[EntityWorld.BALL], s.x[EntityWorld.ENEMY], game.world.getEnemyScore() + game.world.getPlayerScore()};
+    }
+
+    @Test
+    public void testFastForwardKeepsOutcome() {
+        double[] normal = playSeeded(Game.NORMAL_TIME_SCALE, 4000);
+        double[] fast = playSeeded(Game.NORMAL_TIME_SCALE + 2, 1000);
+
+        assertArrayEquals(normal, fast, 0.0);
+    }
+
+    @Test
+    public void testLateTicksCatchUpWithWallTime() {
+        Game game = new Game();
+        game.start();
+        long tick = GameConfig.defaults().tickNanos;
+        long base = tick / 2;
+        game.resetClock(0);
+
+        assertEquals(10, game.runDueTicks(base + 10 * tick));
+        // Thirty ticks late: caught up in bounded batches, none lost
+        assertEquals(16, game.runDueTicks(base + 40 * tick));
+        assertEquals(14, game.runDueTicks(base + 40 * tick));
+        assertEquals(0, game.runDueTicks(base + 40 * tick));
+        assertEquals(0, game.getResyncs());
+    }
+
+    @Test
+    public void testStallResyncsInsteadOfFastForwarding() {
+        Game game = new Game();
+        game.start();
+        game.resetClock(0);
+
+        assertEquals(1, game.runDueTicks(2000000000L));
+        assertEquals(1, game.getResyncs());
+    }
+
+    @Test
+    public void testSlowMotionStretchesTickPeriod() {
+        Game game = new Game();
+        game.start();
+        game.setTimeScale(0);
+        long tick = GameConfig.defaults().tickNanos;
+        game.resetClock(0);
+
+        // Slow motion takes four tick periods per tick
+        assertEquals(0, game.runDueTicks(3 * tick));
+        assertEquals(1, game.runDueTicks(4 * tick));
+        assertEquals(0, game.runDueTicks(7 * tick));
+        assertEquals(1, game.runDueTicks(8 * tick));
+    }
+
+    @Test
+    public void testSingleStepRunsOneTickPerRequest() {
+        Game game = new Game();
+        game.start();
+        game.toggleStepping();
+        game.resetClock(0);
+        long now = 1000000000L;
+
+        assertEquals(0, game.runDueTicks(now));
+        game.requestStep();
+        game.requestStep();
+        assertEquals(1, game.runDueTicks(now + 1));
+        assertEquals(1, game.runDueTicks(now + 2));
+        assertEquals(0, game.runDueTicks(now + 3));
+    }
+
+    @Test
+    public void testApplyConfigResizesPaddles() {
+        Game game = new Game();
+        game.start();
+        java.util.Properties properties = new java.util.Properties();
+        properties.setProperty("playerWidth", "60");
+        properties.setProperty("enemyWidth", "20");
+
+        game.applyConfig(new GameConfig(properties, SpeedProfile.builtIn()));
+
+        assertEquals(60, game.world.store.width[EntityWorld.PLAYER]);
+        assertEquals(20, game.world.store.width[EntityWorld.ENEMY]);
+    }
+
+    private static long eventsOf(Game game) {
+        return game.world.getPaddleBounces() + game.world.getWallBounces() + game.world.getEnemyScore() + game.world.getPlayerScore();
+    }
+
+    /** Ticks until the ball bounces or a point is scored, and waits for the mixer to take the sounds. */
+    private static void tickToNextEvent(Game game, AudioMixer mixer) throws InterruptedException {
+        long events = eventsOf(game);
+        while (eventsOf(game) == events) {
+            game.tick();
+        }
+        drain(mixer);
+    }
+
+    /** Waits until the mixer has taken every sound queued so far. */
+    private static void drain(AudioMixer mixer) throws InterruptedException {
+        long blocks = mixer.getBlocks();
+        while (mixer.getBlocks() < blocks + 2) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testLateMixerDoesNotReplayEarlierSounds() throws Exception {
+        Game game = new Game();
+        game.start(new java.util.Random(5));
+        while (game.world.getPaddleBounces() == 0 || game.world.getWallBounces() == 0) {
+            game.tick();
+        }
+        AudioMixer mixer = new AudioMixer(new AudioMixer.NullSink(true), AudioMixer.synthesize());
+        try {
+            game.setAudio(mixer);
+            game.tick();
+            tickToNextEvent(game, mixer);
+
+            assertEquals(1, mixer.getTriggers());
+        } finally {
+            mixer.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRestartKeepsSoundsPlaying() throws Exception {
+        Game game = new Game();
+        game.start(new java.util.Random(5));
+        AudioMixer mixer = new AudioMixer(new AudioMixer.NullSink(true), AudioMixer.synthesize());
+        try {
+            game.setAudio(mixer);
+            while (game.world.getWallBounces() < 3) {
+                game.tick();
+            }
+            game.isPaused = true;
+            game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED));
+            game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ENTER, '\n'));
+            game.tick();
+            assertEquals(0, game.world.getWallBounces());
+            drain(mixer);
+            long before = mixer.getTriggers();
+
+            // The new ball's first bounce is heard even though the old one had bounced more
+            tickToNextEvent(game, mixer);
+            assertEquals(before + 1, mixer.getTriggers());
+        } finally {
+            mixer.close();
+        }
+    }
+
+    @Test
+    public void testMenuResetWaitsForTheNextTickAndKeepsTheSeed() {
+        double[] positions = new double[2];
+        for (int run = 0; run < 2; run++) {
+            Game game = new Game();
+            game.start(new java.util.Random(11));
+            for (int i = 0; i < 500; i++) {
+                game.tick();
+            }
+            EntityWorld before = game.world;
+            game.isPaused = true;
+            game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED));
+            game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ENTER, '\n'));
+            assertSame("The event thread must not replace the field", before, game.world);
+
+            for (int i = 0; i < 300; i++) {
+                game.tick();
+            }
+            assertNotSame(before, game.world);
+            positions[run] = game.world.store.x[EntityWorld.BALL] * 1000 + game.world.store.y[EntityWorld.BALL];
+        }
+        assertEquals(positions[0], positions[1], 0.0);
+    }
+
+    @Test
+    public void testPickupsSpawnAndAreDrawn() {
+        Game game = new Game();
+        game.start(new java.util.Random(1));
+        int t = 0;
+        while (game.powerUps.pickupCount() == 0 && t++ < 1000) {
+            game.tick();
+        }
+        assertTrue(t < 1000);
+
+        int x = game.powerUps.pickupX(0) + PowerUps.PICKUP_SIZE / 2;
+        int y = game.powerUps.pickupY(0) + PowerUps.PICKUP_SIZE / 2;
+        int color = game.powerUps.pickupColor(0).getRGB() & 0xFFFFFF;
+        assertEquals(color, game.renderFrame().getRGB(x, y) & 0xFFFFFF);
+    }
+
+    @Test
+    public void testReloadKeepsPowerUpEffects() {
+        Game game = new Game();
+        game.start(new java.util.Random(1));
+        game.powerUps.activate(PowerUps.WIDE_PADDLE, EntityWorld.PLAYER, 10);
+        game.powerUps.activate(PowerUps.AI_SLOWDOWN, -1, 10);
+        java.util.Properties properties = new java.util.Properties();
+        properties.setProperty("playerWidth", "60");
+        properties.setProperty("difficulty", "0.9");
+
+        game.applyConfig(new GameConfig(properties, SpeedProfile.builtIn()));
+        assertEquals(60 + PowerUps.WIDE_EXTRA, game.world.store.width[EntityWorld.PLAYER]);
+        assertEquals(0.9, game.world.store.param[EntityWorld.ENEMY], 0.0);
+        assertEquals(PowerUps.SLOWDOWN_FACTOR, game.world.getTrackingScale(), 0.0);
+
+        for (int i = 0; i < 10; i++) {
+            game.tick();
+        }
+        assertEquals(60, game.world.store.width[EntityWorld.PLAYER]);
+        assertEquals(0.9, game.world.store.param[EntityWorld.ENEMY], 0.0);
+        assertEquals(1.0, game.world.getTrackingScale(), 0.0);
+    }
+
+    @Test
+    public void testPowerUpsCanBeTurnedOffFromTheNextReset() {
+        Game game = new Game();
+        game.start(new java.util.Random(1));
+        java.util.Properties properties = new java.util.Properties();
+        properties.setProperty("powerUps", "false");
+
+        game.applyConfig(new GameConfig(properties, SpeedProfile.builtIn()));
+        assertNotNull(game.powerUps);
+
+        game.isPaused = true;
+        game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED));
+        game.keyPressed(new KeyEvent(game, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ENTER, '\n'));
+        game.tick();
+        assertNull(game.powerUps);
+    }
+
+    @Test(timeout = 10000)
+    public void testRecordingOpensAndClosesOffTheEventThread() throws Exception {
+        Game game = new Game();
+        game.start();
+        CountDownLatch opened = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FrameRecorder.FrameSink slow = new FrameRecorder.FrameSink() {
+            @Override
+            public void write(int[] pixels) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Future<?> open = game.toggleRecording(() -> {
+            opened.await();
+            return slow;
+        });
+        assertFalse(open.isDone());
+        assertNull(game.getRecorder());
+        opened.countDown();
+        open.get();
+
+        // The encoder is stuck on this frame, so closing has to wait for it
+        assertTrue(game.getRecorder().capture(game.renderFrame()));
+        Future<?> close = game.toggleRecording(() -> slow);
+        Thread.sleep(50);
+        assertFalse(close.isDone());
+        release.countDown();
+        close.get();
+        assertNull(game.getRecorder());
+    }
 }
@@ -0,0 +1,137 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import static org.junit.Assert.*;
+
+public class MatchServerTest {
+
+    private MatchServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MatchServer(0, 2, 200);
+        Thread thread = new Thread(server);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testQueryReturnsState() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            out.write(MatchServer.CMD_QUERY);
+            out.flush();
+
+            short playerScore = in.readShort();
+            short enemyScore = in.readShort();
+            short ballX = in.readShort();
+            short ballY = in.readShort();
+
+            assertTrue(playerScore >= 0 && enemyScore >= 0);
+            assertTrue(ballX >= 0 && ballX <= Game.WIDTH);
+            assertTrue(ballY >= 0 && ballY <= Game.HEIGHT);
+        }
+    }
+
+    /** Channel that takes at most three bytes per write, like a socket with a full buffer. */
+    private static class TrickleChannel implements java.nio.channels.WritableByteChannel {
+        final java.io.ByteArrayOutputStream written = new java.io.ByteArrayOutputStream();
+
+        @Override
+        public int write(java.nio.ByteBuffer src) {
+            int n = Math.min(3, src.remaining());
+            for (int i = 0; i < n; i++) {
+                written.write(src.get());
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void testPartialReplyIsKeptUntilFlushed() throws Exception {
+        MatchServer.Session session = new MatchServer.Session(null, new Match(1));
+        TrickleChannel channel = new TrickleChannel();
+        java.nio.ByteBuffer reply = java.nio.ByteBuffer.allocate(MatchServer.STATE_BYTES);
+        reply.putLong(0x0102030405060708L).flip();
+
+        assertTrue(session.send(channel, reply));
+        assertTrue(session.hasUnsent());
+        assertTrue(session.flush(channel));
+        assertFalse(session.flush(channel));
+        assertFalse(session.hasUnsent());
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, channel.written.toByteArray());
+    }
+
+    @Test
+    public void testSessionsAreCounted() throws Exception {
+        Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+
+        waitFor(2);
+        assertEquals(2, server.getSessionCount());
+
+        first.close();
+        waitFor(1);
+        assertEquals(1, server.getSessionCount());
+        second.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testIdleClientOfFailedMatchIsDisconnected() throws Exception {
+        MatchServer failing = new MatchServer(0, 1, 200) {
+            @Override
+            Match newMatch(long seed) {
+                return new Match(seed) {
+                    @Override
+                    public void tick(int input) {
+                        throw new IllegalStateException("broken match");
+                    }
+                };
+            }
+        };
+        Thread thread = new Thread(failing);
+        thread.setDaemon(true);
+        thread.start();
+
+        // The client never sends anything, so only the shard can get its session closed
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), failing.getPort())) {
+            assertEquals(-1, socket.getInputStream().read());
+            assertEquals(0, failing.getSessionCount());
+        } finally {
+            failing.close();
+        }
+    }
+
+    @Test
+    public void testFootprintStaysWithinBudget() {
+        long perMatch = MatchServer.measureSessionFootprint(20000);
+        assertTrue(perMatch + " bytes per match", perMatch > 0 && perMatch <= MatchServer.FOOTPRINT_BUDGET);
+    }
+
+    private void waitFor(int sessions) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getSessionCount() != sessions; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MatchTest {
+
+    @Test
+    public void testSameSeedSameMatch() {
+        Match first = new Match(42);
+        Match second = new Match(42);
+
+        for (int i = 0; i < 5000; i++) {
+            int input = i % 3;
+            first.tick(input);
+            second.tick(input);
+        }
+
+        // Equal seeds and inputs must give exactly the same match
+        assertEquals(first.world.store.x[EntityWorld.BALL], second.world.store.x[EntityWorld.BALL], 0.0);
+        assertEquals(first.world.store.y[EntityWorld.BALL], second.world.store.y[EntityWorld.BALL], 0.0);
+        assertEquals(first.getPlayerScore(), second.getPlayerScore());
+        assertEquals(first.getEnemyScore(), second.getEnemyScore());
+    }
+
+    @Test
+    public void testInputMovesPlayer() {
+        Match match = new Match(1);
+
+        match.tick(Match.INPUT_RIGHT);
+        assertEquals(101, (int) match.world.store.x[EntityWorld.PLAYER]);
+
+        match.tick(Match.INPUT_LEFT);
+        match.tick(Match.INPUT_LEFT);
+        assertEquals(99, (int) match.world.store.x[EntityWorld.PLAYER]);
+    }
+
+    @Test
+    public void testMatchesAreIndependent() {
+        Match moving = new Match(7);
+        Match idle = new Match(7);
+
+        for (int i = 0; i < 20; i++) {
+            moving.tick(Match.INPUT_LEFT);
+        }
+
+        // Ticking one match must not touch the paddles of another
+        assertEquals(80, (int) moving.world.store.x[EntityWorld.PLAYER]);
+        assertEquals(100, (int) idle.world.store.x[EntityWorld.PLAYER]);
+    }
+
+    @Test
+    public void testScoresAreReported() {
+        Match match = new Match(3);
+
+        for (int i = 0; i < 20000; i++) {
+            match.tick(Match.INPUT_NONE);
+        }
+
+        assertEquals(20000, match.getTicks());
+        assertTrue(match.getPlayerScore() + match.getEnemyScore() > 0);
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParticleSystemTest {
+
+    @Test
+    public void testBurstIsBoundedByCapacity() {
+        ParticleSystem system = new ParticleSystem(100, 1);
+
+        assertEquals(60, system.burst(10, 10, 60, 1f, 0xFFFFFF, 10));
+        assertEquals(40, system.burst(10, 10, 60, 1f, 0xFFFFFF, 10));
+        assertEquals(0, system.burst(10, 10, 60, 1f, 0xFFFFFF, 10));
+        assertEquals(100, system.size());
+    }
+
+    @Test
+    public void testParticlesExpire() {
+        ParticleSystem system = new ParticleSystem(100, 1);
+        system.burst(10, 10, 50, 1f, 0xFFFFFF, 10);
+
+        for (int f = 0; f < 10; f++) {
+            system.update();
+        }
+
+        assertEquals(0, system.size());
+    }
+
+    @Test
+    public void testDrawBrightensPixels() {
+        ParticleSystem system = new ParticleSystem(10, 1);
+        int[] pixels = new int[Game.WIDTH * Game.HEIGHT];
+        system.burst(50, 50, 1, 0f, 0xFF0000, 10);
+
+        system.draw(pixels, Game.WIDTH, Game.HEIGHT);
+
+        assertEquals(0xFF0000, pixels[50 * Game.WIDTH + 50]);
+    }
+
+    @Test
+    public void testDensityAdaptsToFrameTime() {
+        ParticleSystem system = new ParticleSystem(1000, 1);
+
+        for (int f = 0; f < 20; f++) {
+            system.adapt(20000000, 8000000);
+        }
+        assertEquals(ParticleSystem.MIN_DENSITY, system.getDensity(), 1e-6);
+        assertEquals(5, system.burst(0, 0, 100, 1f, 0xFFFFFF, 10));
+
+        for (int f = 0; f < 100; f++) {
+            system.adapt(1000000, 8000000);
+        }
+        assertEquals(1f, system.getDensity(), 1e-6);
+    }
+}
@@ -0,0 +1,125 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class PowerUpsTest {
+
+    @Test
+    public void testWidePaddleExpires() {
+        EntityWorld world = EntityWorld.classic(1);
+        PowerUps powerUps = new PowerUps(world, new Random(1), 4, 16);
+
+        powerUps.activate(PowerUps.WIDE_PADDLE, 0, 10);
+        powerUps.activate(PowerUps.WIDE_PADDLE, 0, 20);
+        assertEquals(EntityWorld.PADDLE_WIDTH + PowerUps.WIDE_EXTRA, world.store.width(0));
+
+        for (int t = 0; t < 15; t++) {
+            powerUps.tick();
+        }
+        assertEquals(EntityWorld.PADDLE_WIDTH + PowerUps.WIDE_EXTRA, world.store.width(0));
+
+        for (int t = 0; t < 5; t++) {
+            powerUps.tick();
+        }
+        assertEquals(EntityWorld.PADDLE_WIDTH, world.store.width(0));
+        assertEquals(0, powerUps.activeCount(PowerUps.WIDE_PADDLE));
+    }
+
+    @Test
+    public void testWidenPaddleAddedAfterConstruction() {
+        EntityWorld world = EntityWorld.classic(1);
+        PowerUps powerUps = new PowerUps(world, new Random(1), 4, 16);
+        for (int i = 0; i < 40; i++) {
+            world.addObstacle(0, 60, 4, 4);
+        }
+        int paddle = world.addPaddle(100, 80, 30, EntityStore.CONTROL_NONE, 0);
+
+        assertTrue(powerUps.activate(PowerUps.WIDE_PADDLE, paddle, 10));
+        assertEquals(30 + PowerUps.WIDE_EXTRA, world.store.width(paddle));
+    }
+
+    @Test
+    public void testSpeedAndSlowdownAreUndone() {
+        EntityWorld world = EntityWorld.classic(2);
+        PowerUps powerUps = new PowerUps(world, new Random(2), 4, 16);
+        double vx = world.store.vx[2];
+
+        powerUps.activate(PowerUps.BALL_SPEED, -1, 5);
+        powerUps.activate(PowerUps.AI_SLOWDOWN, -1, 5);
+        assertEquals(vx * PowerUps.SPEED_FACTOR, world.store.vx[2], 1e-12);
+        assertEquals(PowerUps.SLOWDOWN_FACTOR, world.getTrackingScale(), 0.0);
+
+        for (int t = 0; t < 5; t++) {
+            powerUps.tick();
+        }
+        assertEquals(vx, world.store.vx[2], 1e-12);
+        assertEquals(1.0, world.getTrackingScale(), 0.0);
+        assertEquals(EntityWorld.DIFFICULTY, world.store.param[1], 0.0);
+    }
+
+    @Test
+    public void testBallCollectsSplitPickup() {
+        EntityWorld world = EntityWorld.classic(3);
+        PowerUps powerUps = new PowerUps(world, new Random(3), 4, 16);
+        powerUps.place(PowerUps.SPLIT, (int) world.store.x(2), (int) world.store.y(2));
+
+        powerUps.tick();
+        assertEquals(0, powerUps.pickupCount());
+        assertEquals(2, world.ballCount());
+
+        int points = 0;
+        while (world.ballCount() > 1) {
+            world.tick(Match.INPUT_NONE);
+            points = world.getPlayerScore() + world.getEnemyScore();
+        }
+        assertTrue(points >= 1);
+    }
+
+    @Test
+    public void testPickupsSpawnAndDisappear() {
+        EntityWorld world = new EntityWorld(new Random(4), SpeedProfile.builtIn(), 4);
+        PowerUps powerUps = new PowerUps(world, new Random(4), 2, 4);
+        powerUps.setTimings(10, 15, 100);
+
+        for (int t = 0; t < 10; t++) {
+            powerUps.tick();
+        }
+        assertEquals(1, powerUps.pickupCount());
+
+        for (int t = 0; t < 15; t++) {
+            powerUps.tick();
+        }
+        assertEquals(1, powerUps.pickupCount());
+        assertEquals(2, powerUps.pendingTimers());
+    }
+
+    @Test
+    public void testTickWorkIsFlatWithManyActiveEffects() {
+        long few = visitTicks(16);
+        long many = visitTicks(20000);
+
+        // Each tick looks at most at one waiting timer beyond those it expires
+        assertTrue("few: " + few + ", many: " + many, many <= few + TICKS);
+    }
+
+    private static final int TICKS = 10000;
+
+    private static long visitTicks(int effects) {
+        EntityWorld world = EntityWorld.classic(5);
+        PowerUps powerUps = new PowerUps(world, new Random(5), 8, effects);
+        Random random = new Random(5);
+        for (int i = 0; i < effects; i++) {
+            int type = i % 3 == 0 ? PowerUps.WIDE_PADDLE : i % 3 == 1 ? PowerUps.BALL_SPEED : PowerUps.AI_SLOWDOWN;
+            powerUps.activate(type, 0, 100000 + random.nextInt(100000));
+        }
+
+        long visited = powerUps.visitedTimers();
+        for (int t = 0; t < TICKS; t++) {
+            world.tick(t % 3);
+            powerUps.tick();
+        }
+        assertEquals(effects, powerUps.activeCount(PowerUps.WIDE_PADDLE) + powerUps.activeCount(PowerUps.BALL_SPEED) + powerUps.activeCount(PowerUps.AI_SLOWDOWN));
+        return powerUps.visitedTimers() - visited;
+    }
+}
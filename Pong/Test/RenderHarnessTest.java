@@ -0,0 +1,49 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class RenderHarnessTest {
+
+    @Test
+    public void testHashSeesEveryPixel() {
+        int[] pixels = new int[Game.WIDTH * Game.HEIGHT];
+        long empty = RenderHarness.hash(pixels);
+
+        pixels[pixels.length - 1] = 0xFFFFFF;
+        assertNotEquals(empty, RenderHarness.hash(pixels));
+        pixels[pixels.length - 1] = 0;
+        assertEquals(empty, RenderHarness.hash(pixels));
+    }
+
+    @Test
+    public void testSameSeedDrawsSameFrames() {
+        long[] first = new RenderHarness(5).play(300).getHashes();
+        long[] second = new RenderHarness(5).play(300).getHashes();
+        long[] other = new RenderHarness(6).play(300).getHashes();
+
+        assertEquals(-1, RenderHarness.firstMismatch(first, second));
+        assertTrue(RenderHarness.firstMismatch(first, other) >= 0);
+    }
+
+    @Test
+    public void testFirstMismatch() {
+        assertEquals(-1, RenderHarness.firstMismatch(new long[] {1, 2}, new long[] {1, 2}));
+        assertEquals(1, RenderHarness.firstMismatch(new long[] {1, 2}, new long[] {1, 3}));
+        assertEquals(2, RenderHarness.firstMismatch(new long[] {1, 2}, new long[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testFramesMatchGoldenSequences() throws Exception {
+        RenderHarness.Golden golden = RenderHarness.Golden.read(RenderHarness.GOLDEN_FILE);
+        // Text depends on the platform fonts; the goldens only hold where they were recorded
+        assumeTrue(golden.fonts == RenderHarness.fontKey());
+
+        RenderHarness harness = new RenderHarness(RenderHarness.DEFAULT_SEED);
+        RenderHarness.Run gameplay = harness.play(golden.gameplay.length);
+        RenderHarness.Run pause = harness.pause(golden.pause.length);
+
+        assertEquals(-1, RenderHarness.firstMismatch(golden.gameplay, gameplay.getHashes()));
+        assertEquals(-1, RenderHarness.firstMismatch(golden.pause, pause.getHashes()));
+        assertTrue(gameplay.getFramesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,87 @@
+import org.junit.Test;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import static org.junit.Assert.*;
+
+public class SoakTest {
+
+    private static final PrintStream QUIET = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+    });
+
+    @Test
+    public void testRealLogicHoldsInvariants() {
+        Soak soak = new Soak(1);
+
+        assertTrue(soak.run(3L * Soak.EPISODE_TICKS, Long.MAX_VALUE, QUIET));
+        assertEquals(3L * Soak.EPISODE_TICKS, soak.getTicks());
+        assertNull(soak.getViolation());
+    }
+
+    @Test
+    public void testCheckerCatchesFallingScore() {
+        Match match = new Match(1);
+        Soak.Checker checker = new Soak.Checker();
+        checker.reset();
+
+        match.updateScore(1, 0);
+        assertNull(checker.check(match));
+        match.updateScore(0, 0);
+        assertNotNull(checker.check(match));
+    }
+
+    @Test
+    public void testCheckerCatchesPaddleOutOfBounds() {
+        Match match = new Match(1);
+        Soak.Checker checker = new Soak.Checker();
+        checker.reset();
+
+        EntityStore s = match.world.store;
+        s.x[EntityWorld.PLAYER] = Game.WIDTH - s.width[EntityWorld.PLAYER] + 1;
+        assertNotNull(checker.check(match));
+    }
+
+    @Test
+    public void testCheckerCatchesBallStuckInPaddle() {
+        Match match = new Match(1);
+        Soak.Checker checker = new Soak.Checker();
+        checker.reset();
+
+        // Overlapping the player paddle while still falling into it
+        EntityStore s = match.world.store;
+        s.x[EntityWorld.BALL] = s.x[EntityWorld.PLAYER] + 10;
+        s.y[EntityWorld.BALL] = s.y[EntityWorld.PLAYER] - 2;
+        s.dirY[EntityWorld.BALL] = 1;
+        assertNull(checker.check(match));
+        assertNotNull(checker.check(match));
+
+        // Leaving the paddle is a normal contact, however long it lasts
+        checker.reset();
+        s.dirY[EntityWorld.BALL] = -1;
+        for (int i = 0; i < 10; i++) {
+            assertNull(checker.check(match));
+        }
+        assertEquals(10, checker.longestContact);
+    }
+
+    @Test
+    public void testInputLogRoundTrip() {
+        Soak.InputLog log = Soak.InputLog.parse("R12 N40 L3");
+
+        assertEquals("R12 N40 L3", log.toString());
+        assertEquals(55, log.steps());
+        log.truncate(20);
+        assertEquals("R12 N8", log.toString());
+    }
+
+    @Test
+    public void testReplayPlaysLoggedInputs() {
+        Soak.InputLog log = Soak.InputLog.parse("R30 L5");
+        Soak.Checker checker = new Soak.Checker();
+
+        assertNull(Soak.replay(7, log, checker));
+        assertEquals(35, checker.tick);
+    }
+}
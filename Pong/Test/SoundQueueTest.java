@@ -0,0 +1,57 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SoundQueueTest {
+
+    @Test
+    public void testFifoWithTimes() {
+        SoundQueue queue = new SoundQueue(4);
+        assertTrue(queue.offer(1, 100));
+        assertTrue(queue.offer(2, 200));
+
+        assertEquals(1, queue.poll());
+        assertEquals(100, queue.polledTime());
+        assertEquals(2, queue.poll());
+        assertEquals(200, queue.polledTime());
+        assertEquals(-1, queue.poll());
+    }
+
+    @Test
+    public void testFullQueueDrops() {
+        SoundQueue queue = new SoundQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i, i));
+        }
+        assertFalse(queue.offer(9, 9));
+        assertEquals(1, queue.getDropped());
+
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(4, 4));
+    }
+
+    @Test
+    public void testProducerAndConsumerThreads() throws InterruptedException {
+        SoundQueue queue = new SoundQueue(16);
+        int count = 100000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i, i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        for (int expected = 0; expected < count; ) {
+            int sound = queue.poll();
+            if (sound < 0) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected, sound);
+            assertEquals(expected, queue.polledTime());
+            expected++;
+        }
+        producer.join();
+    }
+}
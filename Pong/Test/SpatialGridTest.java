@@ -0,0 +1,49 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SpatialGridTest {
+
+    private static int count(SpatialGrid grid, int column, int row, int entity) {
+        int found = 0;
+        for (int e = grid.first(column, row); e >= 0; e = grid.next(e)) {
+            if (grid.entity(e) == entity) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void testBoxIsInEveryCellItCovers() {
+        SpatialGrid grid = new SpatialGrid(240, 160, 32);
+        grid.insert(7, 30, 40, 40, 5);
+
+        assertEquals(1, count(grid, 0, 1, 7));
+        assertEquals(1, count(grid, 1, 1, 7));
+        assertEquals(1, count(grid, 2, 1, 7));
+        assertEquals(0, count(grid, 3, 1, 7));
+        assertEquals(0, count(grid, 1, 2, 7));
+    }
+
+    @Test
+    public void testBoxesOffTheFieldAreClampedToTheBorder() {
+        SpatialGrid grid = new SpatialGrid(240, 160, 32);
+        grid.insert(1, -20, -20, 5, 5);
+        grid.insert(2, 300, 200, 5, 5);
+
+        assertEquals(1, count(grid, 0, 0, 1));
+        assertEquals(1, count(grid, grid.getColumns() - 1, grid.getRows() - 1, 2));
+    }
+
+    @Test
+    public void testClearEmptiesAndEntriesGrow() {
+        SpatialGrid grid = new SpatialGrid(240, 160, 32);
+        for (int i = 0; i < 100; i++) {
+            grid.insert(i, 0, 0, 1, 1);
+        }
+        assertEquals(1, count(grid, 0, 0, 99));
+
+        grid.clear();
+        assertEquals(-1, grid.first(0, 0));
+    }
+}
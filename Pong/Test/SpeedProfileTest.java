@@ -0,0 +1,114 @@
+import org.junit.Test;
+import java.awt.Color;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Properties;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class SpeedProfileTest {
+
+    @Test
+    public void testBuiltInProfileMatchesStrategies() {
+        SpeedProfile profile = SpeedProfile.builtIn();
+
+        assertEquals(3, profile.levelCount());
+        assertEquals(0.7, profile.level(0).getSpeed(), 0.0);
+        assertEquals(1.0, profile.level(1).getSpeed(), 0.0);
+        assertEquals(1.3, profile.level(2).getSpeed(), 0.0);
+        assertEquals(Color.WHITE, profile.color(0));
+        assertEquals(Color.YELLOW, profile.color(1));
+        assertEquals(Color.RED, profile.color(2));
+        assertEquals(3, profile.getChangeEvery());
+    }
+
+    @Test
+    public void testBuiltInAngles() {
+        SpeedProfile.AngleDistribution launch = SpeedProfile.builtIn().getLaunch();
+        SpeedProfile.AngleDistribution bounce = SpeedProfile.builtIn().getBounce();
+
+        // The ball is launched at 80 or 100 degrees and bounces off at 61-70 or 110-120 degrees
+        assertEquals(2, launch.size());
+        assertEquals(80, launch.angle(0));
+        assertEquals(100, launch.angle(1));
+        assertEquals(21, bounce.size());
+        assertEquals(Math.sin(Math.toRadians(61)), bounce.dx(0), 0.0);
+        assertEquals(Math.cos(Math.toRadians(61)), bounce.dy(0), 0.0);
+    }
+
+    @Test
+    public void testLoadFromFile() throws Exception {
+        File file = File.createTempFile("profile", ".properties");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("levels = 0.5, 2.0\ncolors = 00FF00\nchangeEvery = 5\nbounceAngles = 45, 135, 80, 100\n");
+        }
+
+        SpeedProfile profile = SpeedProfile.load(file.toPath());
+
+        assertEquals(2, profile.levelCount());
+        assertEquals(2.0, profile.level(1).getSpeed(), 0.0);
+        assertEquals(Color.GREEN, profile.color(1));
+        assertEquals(5, profile.getChangeEvery());
+        assertEquals(91 - 19, profile.getBounce().size());
+    }
+
+    @Test
+    public void testAccelerationIsCapped() {
+        Properties properties = new Properties();
+        properties.setProperty("rallyAcceleration", "0.1");
+        properties.setProperty("scoreAcceleration", "0.05");
+        properties.setProperty("maxSpeed", "1.0");
+        SpeedProfile profile = new SpeedProfile(properties);
+
+        assertEquals(0.7 + 0.2 + 0.05, profile.speed(profile.level(0), 2, 1), 1e-9);
+        assertEquals(1.0, profile.speed(profile.level(0), 10, 0), 0.0);
+    }
+
+    @Test
+    public void testBallSpeedsUpDuringRally() {
+        Properties properties = new Properties();
+        properties.setProperty("rallyAcceleration", "0.5");
+        EntityWorld world = EntityWorld.classic(new Random(1), new SpeedProfile(properties));
+        EntityStore s = world.store;
+
+        // Put the ball right above the player paddle and let it bounce
+        s.x[EntityWorld.BALL] = s.x[EntityWorld.PLAYER] + 10;
+        s.y[EntityWorld.BALL] = s.y[EntityWorld.PLAYER] - 1;
+        world.tick(Match.INPUT_NONE);
+        double before = s.y[EntityWorld.BALL];
+        double direction = s.dirY[EntityWorld.BALL];
+        world.tick(Match.INPUT_NONE);
+
+        // One paddle hit adds the rally acceleration to the level speed
+        assertTrue(direction < 0);
+        assertEquals((0.7 + 0.5) * direction, s.y[EntityWorld.BALL] - before, 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedProfileIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("levels", "fast");
+        new SpeedProfile(properties);
+    }
+
+    private static String rejection(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        try {
+            new SpeedProfile(properties);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Test
+    public void testMalformedAngleRangesNameTheirKey() {
+        assertTrue(rejection("launchAngles", "80").startsWith("launchAngles"));
+        assertTrue(rejection("launchAngles", "80, 100, 90").startsWith("launchAngles"));
+        assertTrue(rejection("bounceAngles", "120, 61").startsWith("bounceAngles"));
+        assertTrue(rejection("bounceAngles", "61, 120, 110, 70").startsWith("bounceAngles"));
+        assertNull(rejection("bounceAngles", "61, 120"));
+    }
+}
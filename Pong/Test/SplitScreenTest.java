@@ -0,0 +1,65 @@
+import org.junit.Test;
+import java.awt.image.BufferedImage;
+import static org.junit.Assert.*;
+
+public class SplitScreenTest {
+
+    private static boolean hasLitPixel(BufferedImage image, int x0, int y0) {
+        for (int y = y0; y < y0 + Game.HEIGHT; y++) {
+            for (int x = x0; x < x0 + Game.WIDTH - 1; x++) {
+                if ((image.getRGB(x, y) & 0xFFFFFF) == 0xFFFFFF) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testComposeDrawsEveryTileInItsCell() {
+        SplitScreen screen = new SplitScreen(3, 1);
+        screen.tickAll();
+        BufferedImage image = screen.compose();
+
+        assertEquals(2 * Game.WIDTH, image.getWidth());
+        assertEquals(2 * Game.HEIGHT, image.getHeight());
+        assertTrue(hasLitPixel(image, 0, 0));
+        assertTrue(hasLitPixel(image, Game.WIDTH, 0));
+        assertTrue(hasLitPixel(image, 0, Game.HEIGHT));
+        // The fourth cell has no match and stays empty
+        assertFalse(hasLitPixel(image, Game.WIDTH, Game.HEIGHT));
+    }
+
+    @Test
+    public void testTilesAreIndependent() {
+        SplitScreen screen = new SplitScreen(2, 1);
+        screen.setInput(0, Match.INPUT_RIGHT);
+        for (int i = 0; i < 20; i++) {
+            screen.tickAll();
+        }
+
+        assertTrue(screen.getMatch(0).world.store.x[EntityWorld.PLAYER] > 100);
+        assertEquals(100, (int) screen.getMatch(1).world.store.x[EntityWorld.PLAYER]);
+        assertEquals(20, screen.getMatch(1).getTicks());
+    }
+
+    @Test
+    public void testPoolTicksEveryMatch() throws Exception {
+        SplitScreen screen = new SplitScreen(4, 1);
+        screen.start(2, 2000);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (screen.getMatch(3).getTicks() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        screen.stop();
+
+        for (int i = 0; i < screen.getTileCount(); i++) {
+            assertTrue(screen.getMatch(i).getTicks() >= 50);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTooManyTiles() {
+        new SplitScreen(SplitScreen.MAX_TILES + 1, 1);
+    }
+}
@@ -0,0 +1,71 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TimerWheelTest {
+
+    private static int advanceCounting(TimerWheel wheel) {
+        int count = 0;
+        for (TimerWheel.Timer t = wheel.advance(); t != null; t = t.nextExpired()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testTimerExpiresOnItsTick() {
+        TimerWheel wheel = new TimerWheel(8);
+        TimerWheel.Timer timer = new TimerWheel.Timer();
+        wheel.schedule(timer, 3);
+
+        assertEquals(0, advanceCounting(wheel));
+        assertEquals(0, advanceCounting(wheel));
+        assertEquals(1, advanceCounting(wheel));
+        assertFalse(timer.isScheduled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDelaysLongerThanOneTurn() {
+        TimerWheel wheel = new TimerWheel(8);
+        TimerWheel.Timer timer = new TimerWheel.Timer();
+        wheel.schedule(timer, 20);
+
+        for (int t = 1; t < 20; t++) {
+            assertEquals(0, advanceCounting(wheel));
+        }
+        assertEquals(1, advanceCounting(wheel));
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        TimerWheel wheel = new TimerWheel(8);
+        TimerWheel.Timer first = new TimerWheel.Timer();
+        TimerWheel.Timer second = new TimerWheel.Timer();
+        wheel.schedule(first, 2);
+        wheel.schedule(second, 2);
+        wheel.cancel(first);
+        wheel.schedule(second, 4);
+
+        assertEquals(1, wheel.size());
+        assertEquals(0, advanceCounting(wheel));
+        assertEquals(0, advanceCounting(wheel));
+        assertEquals(0, advanceCounting(wheel));
+        assertEquals(1, advanceCounting(wheel));
+    }
+
+    @Test
+    public void testAdvanceVisitsOnlyExpiringTimers() {
+        TimerWheel wheel = new TimerWheel(8);
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule(new TimerWheel.Timer(), 100 + i);
+        }
+        wheel.schedule(new TimerWheel.Timer(), 5);
+
+        // One waiting timer per non-empty slot and tick, plus the one that expires
+        for (int t = 0; t < 8; t++) {
+            advanceCounting(wheel);
+        }
+        assertEquals(9, wheel.getVisited());
+        assertEquals(1000, wheel.size());
+    }
+}
@@ -0,0 +1,91 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class VectorEnvTest {
+
+    @Test
+    public void testResetIsDeterministic() {
+        VectorEnv first = new VectorEnv(8);
+        VectorEnv second = new VectorEnv(8);
+
+        first.reset(123);
+        second.reset(123);
+
+        assertArrayEquals(first.getObservations(), second.getObservations(), 0.0f);
+    }
+
+    @Test
+    public void testParallelStepMatchesSerialStep() {
+        int[] actions = new int[64];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = i % 3;
+        }
+
+        try (VectorEnv serial = new VectorEnv(64, 1); VectorEnv parallel = new VectorEnv(64, 4)) {
+            serial.reset(9);
+            parallel.reset(9);
+
+            for (int step = 0; step < 2000; step++) {
+                serial.step(actions);
+                parallel.step(actions);
+            }
+
+            // Splitting the matches over threads must not change any result
+            assertArrayEquals(serial.getObservations(), parallel.getObservations(), 0.0f);
+            assertArrayEquals(serial.getRewards(), parallel.getRewards(), 0.0f);
+            assertArrayEquals(serial.getDones(), parallel.getDones());
+        }
+    }
+
+    @Test
+    public void testPointsGiveRewardsAndDones() {
+        VectorEnv env = new VectorEnv(4);
+        int[] actions = new int[4];
+        int dones = 0;
+        float rewardTotal = 0;
+
+        for (int step = 0; step < 20000; step++) {
+            env.step(actions);
+            for (int i = 0; i < env.size(); i++) {
+                dones += env.getDones()[i];
+                rewardTotal += Math.abs(env.getRewards()[i]);
+                if (env.getDones()[i] == 0) {
+                    assertEquals(0.0f, env.getRewards()[i], 0.0f);
+                }
+            }
+        }
+
+        // Every finished point carries a reward of exactly one
+        assertTrue(dones > 0);
+        assertEquals(dones, rewardTotal, 0.0f);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test(timeout = 30000)
+    public void testParallelStepAllocatesNothing() {
+        int[] actions = new int[64];
+        try (VectorEnv env = new VectorEnv(64, 2)) {
+            for (int step = 0; step < 5000; step++) {
+                env.step(actions);
+            }
+
+            long before = allocatedBytes();
+            for (int step = 0; step < 2000; step++) {
+                env.step(actions);
+            }
+            long allocated = allocatedBytes() - before;
+
+            // Less than a byte per step: only the reading of the counter itself and rare one-offs
+            assertTrue(allocated + " bytes", allocated < 2000);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongActionCountIsRejected() {
+        new VectorEnv(4).step(new int[3]);
+    }
+}